@@ -13,15 +13,19 @@ module template.app {
   // Application
   requires ehcache;
   requires io.javalin;
+  requires javax.servlet.api;
   requires transitive java.net.http;
   // Persistence
   requires org.jooq;
   requires com.zaxxer.hikari;
   requires org.postgresql.jdbc;
   requires transitive java.sql;
+  // Generated rows are instantiated reflectively
+  opens template.schema.tables.records to org.jooq;
 
   // Open for testing
   opens template;
+  opens template.base;
   opens template.core;
   opens template.feature.info;
   opens template.feature.user;
@@ -3,7 +3,11 @@ package template.base;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import lombok.AccessLevel;
@@ -48,7 +52,7 @@ public class Body<T> {
         .copyOf(GSON.fromJson(s, MAP.getType())).entrySet().stream()
         .map(e -> Map.entry(underScoredUppercase(e.getKey()), e.getValue()))
         .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
-    return new Body<>(m.toString(), ref);
+    return new Body<>(GSON.toJson(m), ref);
   }
 
   /**
@@ -105,6 +109,39 @@ public class Body<T> {
     return GSON.fromJson(GSON.toJson(toMap()), ref);
   }
 
+  /**
+   * Provides the name the given attribute is serialized to, only if it is
+   * declared by the provided reference type.
+   *
+   * @param ref       The type reference which should declare the attribute.
+   * @param attribute Attribute name, whether in its declared or serialized
+   *                  form.
+   * @return The attribute's serialized name.
+   */
+  public static Optional<String> nameOf(final @NonNull Class<?> ref,
+                                        final @NonNull String attribute) {
+    return attributeOf(ref, attribute).map(Body::underScoredUppercase);
+  }
+
+  /**
+   * Provides the given attribute's declared name, only if it is declared by
+   * the provided reference type.
+   *
+   * @param ref       The type reference which should declare the attribute.
+   * @param attribute Attribute name, whether in its declared or serialized
+   *                  form.
+   * @return The attribute's declared name.
+   */
+  public static Optional<String> attributeOf(final @NonNull Class<?> ref,
+                                             final @NonNull String attribute) {
+    final var name = underScoredUppercase(attribute);
+    return Arrays.stream(ref.getDeclaredFields())
+                 .filter(f -> !Modifier.isStatic(f.getModifiers()))
+                 .map(Field::getName)
+                 .filter(f -> name.equals(underScoredUppercase(f)))
+                 .findAny();
+  }
+
   private static String underScoredUppercase(final @NonNull Object o) {
     return PATTERN.matcher(o.toString()).replaceAll(m -> '_' + m.group())
                   .toUpperCase();
@@ -0,0 +1,146 @@
+package template.base;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Filtering criterion for a single attribute, as written on a filter query
+ * value. Each operator is told apart by how the value is written, so a plain
+ * value still means equality:
+ * <ul>
+ *   <li>{@code a..b}, {@code a..} or {@code ..b}: inclusive range, open on
+ *   the missing bound;</li>
+ *   <li>{@code a|b|c}: any of the values;</li>
+ *   <li>{@code a*}: values starting with {@code a}.</li>
+ * </ul>
+ * A backslash makes the character after it literal, so {@code a\..b},
+ * {@code a\|b} and {@code a\*} are plain values, and {@code \\} stands for a
+ * backslash itself.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Filter {
+
+  private static final String RANGE_SEPARATOR = "..";
+  private static final String ANY_SEPARATOR = "|";
+  private static final char ESCAPE = '\\';
+  private static final Pattern ESCAPED = Pattern.compile("\\\\(.)");
+  private static final String PREFIX_SUFFIX = "*";
+
+  @NonNull Operator operator;
+  /**
+   * Values the operator takes, in the same order they were written. An empty
+   * one stands for an open range bound.
+   */
+  @NonNull List<String> values;
+
+  /**
+   * Parses a filter query value.
+   *
+   * @param value Value as written on the filter query.
+   * @return Criterion to match the attribute with.
+   */
+  public static Filter of(final @NonNull String value) {
+    final var last = value.length() - PREFIX_SUFFIX.length();
+    if (value.length() > 1 && value.endsWith(PREFIX_SUFFIX)
+        && !isEscaped(value, last)) {
+      return new Filter(Operator.PREFIX,
+                        List.of(literalOf(value.substring(0, last))));
+    }
+    final var at = indexOf(value, RANGE_SEPARATOR, 0);
+    if (at >= 0) {
+      final var rest = value.substring(at + RANGE_SEPARATOR.length());
+      final var bounds = List.of(value.substring(0, at).strip(), rest.strip());
+      Exceptions.ILLEGAL_ARGUMENT.throwIf(
+          () -> bounds.stream().allMatch(String::isEmpty),
+          () -> indexOf(rest, RANGE_SEPARATOR, 0) >= 0);
+      return new Filter(Operator.RANGE, bounds.stream().map(Filter::literalOf)
+                                              .collect(Collectors.toList()));
+    }
+    if (indexOf(value, ANY_SEPARATOR, 0) >= 0) {
+      final var any = new ArrayList<String>();
+      var from = 0;
+      for (var to = indexOf(value, ANY_SEPARATOR, 0); to >= 0;
+           to = indexOf(value, ANY_SEPARATOR, from)) {
+        any.add(value.substring(from, to));
+        from = to + ANY_SEPARATOR.length();
+      }
+      any.add(value.substring(from));
+      Exceptions.ILLEGAL_ARGUMENT.throwIf(
+          () -> any.stream().map(String::strip).anyMatch(String::isEmpty));
+      return new Filter(Operator.ANY_OF, any.stream().map(String::strip)
+                                            .map(Filter::literalOf).distinct()
+                                            .collect(Collectors.toList()));
+    }
+    return new Filter(Operator.EQUAL, List.of(literalOf(value)));
+  }
+
+  /**
+   * Operators which an attribute can be matched with.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  public enum Operator {
+    /**
+     * Matches the only value as it is.
+     */
+    EQUAL,
+    /**
+     * Matches between both values, inclusive. An empty bound is left open.
+     */
+    RANGE,
+    /**
+     * Matches any of the values.
+     */
+    ANY_OF,
+    /**
+     * Matches text starting with the only value.
+     */
+    PREFIX,
+  }
+
+  /**
+   * Finds the first occurrence of a separator which is not escaped.
+   *
+   * @param value Value as written on the filter query.
+   * @param sep   Separator to look for.
+   * @param from  Index to start looking from.
+   * @return Index of the separator, or {@code -1} if there is none.
+   */
+  private static int indexOf(final @NonNull String value,
+                             final @NonNull String sep, final int from) {
+    var at = value.indexOf(sep, from);
+    while (at >= 0 && isEscaped(value, at)) {
+      at = value.indexOf(sep, at + 1);
+    }
+    return at;
+  }
+
+  /**
+   * Tells whether the character at the provided index is escaped, that is,
+   * preceded by an odd amount of backslashes.
+   *
+   * @param value Value as written on the filter query.
+   * @param at    Index of the character.
+   * @return If the character is to be taken literally.
+   */
+  private static boolean isEscaped(final @NonNull String value, final int at) {
+    var i = at;
+    while (i > 0 && ESCAPE == value.charAt(i - 1)) {
+      i--;
+    }
+    return (at - i) % 2 == 1;
+  }
+
+  private static String literalOf(final @NonNull String value) {
+    return ESCAPED.matcher(value).replaceAll("$1");
+  }
+}
@@ -0,0 +1,381 @@
+package template.base;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * Local append-only journal which resources are written behind through. Each
+ * write is acknowledged once appended to the journal's current segment file
+ * and forced to disk, along with the ones appended meanwhile. A background
+ * flusher drains the pending resources in batches, starting a new segment
+ * each time, and deletes the drained segments once stored. Segments left over
+ * by a previous run are replayed on opening. Resources which the storage keeps
+ * rejecting are moved to a dead-letter file, {@code <name>.dead.journal}, so
+ * no acknowledged write is lost.
+ *
+ * <p>Each line on a segment holds an {@code id} and the resource as its
+ * {@code value}. Resources are drained under their own identities, so
+ * replaying a segment which was stored already only stores the same resources
+ * again. Later writes to the same identity replace earlier ones still pending.
+ *
+ * @param <T> Resource written behind.
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@Slf4j
+@lombok.RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Journal<T> {
+
+  private static final Gson GSON = new Gson();
+  private static final String SUFFIX = ".journal";
+  private static final String DEAD = ".dead";
+  private static final String ID = "id";
+  private static final String VALUE = "value";
+
+  private final Path dir;
+  private final String name;
+  private final Class<T> ref;
+  private final Consumer<Map<UUID, T>> sink;
+  private final int rows;
+  private final Map<UUID, T> pending = new LinkedHashMap<>();
+  private final Object syncing = new Object();
+  private final Object flushing = new Object();
+  private FileChannel out;
+  private long segment;
+  private long written;
+  private long synced;
+
+  /**
+   * Opens the journal kept for the provided resource type, replaying any
+   * segment left over, and starts its background flusher.
+   *
+   * @param c    Journal configuration.
+   * @param ref  Resource type, which also names the journal's segments.
+   * @param sink Stores drained resources under their identities.
+   * @param <T>  Resource written behind.
+   * @return The opened journal.
+   */
+  @lombok.SneakyThrows
+  public static <T> Journal<T> open(
+      final @NonNull Config c,
+      final @NonNull Class<T> ref,
+      final @NonNull Consumer<Map<UUID, T>> sink) {
+    Exceptions.ILLEGAL_ARGUMENT.throwIf(() -> !c.isEnabled(),
+                                        () -> c.flush.isNegative(),
+                                        () -> c.flush.isZero(),
+                                        () -> c.rows < 1);
+    val j = new Journal<>(Files.createDirectories(Paths.get(c.dir)),
+                          ref.getSimpleName().toLowerCase(), ref, sink,
+                          c.rows);
+    j.replay();
+    val flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+      val t = new Thread(r, "journal-" + j.name);
+      t.setDaemon(Boolean.TRUE);
+      return t;
+    });
+    flusher.scheduleWithFixedDelay(j::drain, c.flush.toNanos(),
+                                   c.flush.toNanos(), TimeUnit.NANOSECONDS);
+    return j;
+  }
+
+  /**
+   * Appends a resource to the journal, returning once it is on disk.
+   *
+   * @param id Resource's identity.
+   * @param t  The resource.
+   */
+  @lombok.SneakyThrows
+  public void append(final @NonNull UUID id, final @NonNull T t) {
+    val line = ByteBuffer.wrap(lineOf(id, t).getBytes(StandardCharsets.UTF_8));
+    final long end;
+    synchronized (this) {
+      while (line.hasRemaining()) {
+        out.write(line);
+      }
+      end = written += line.limit();
+      pending.remove(id);
+      pending.put(id, t);
+    }
+    sync(end);
+  }
+
+  /**
+   * Looks up a resource which is still pending to be stored.
+   *
+   * @param id Resource's identity.
+   * @return The pending resource, or {@code null} if there is none.
+   */
+  public synchronized T get(final @NonNull UUID id) {
+    return pending.get(id);
+  }
+
+  /**
+   * Stores every pending resource right away, so that operations which are
+   * not written behind are applied after them.
+   */
+  @lombok.SneakyThrows
+  public void flush() {
+    synchronized (flushing) {
+      final Map<UUID, T> batch;
+      final long cut;
+      synchronized (syncing) {
+        synchronized (this) {
+          if (pending.isEmpty()) {
+            return;
+          }
+          batch = new LinkedHashMap<>(pending);
+          cut = segment;
+          rotate();
+        }
+      }
+      store(batch);
+      synchronized (this) {
+        batch.forEach((k, v) -> pending.remove(k, v));
+      }
+      for (val p : segmentsUpTo(cut)) {
+        Files.deleteIfExists(p);
+      }
+    }
+  }
+
+  /**
+   * Journal configuration. Writes are not behind if no directory is set.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  @lombok.Value
+  @lombok.Builder
+  @lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+  public static class Config {
+    /**
+     * Directory which segment files are kept on.
+     */
+    @NonNull
+    @lombok.Builder.Default
+    String dir = "";
+    /**
+     * Time between each drain.
+     */
+    @NonNull
+    @lombok.Builder.Default
+    Duration flush = Duration.ofSeconds(1);
+    /**
+     * Most resources stored per batch.
+     */
+    @lombok.Builder.Default
+    int rows = 1_000;
+    /**
+     * Draws the identities of resources created behind.
+     */
+    @NonNull
+    @lombok.Builder.Default
+    Supplier<UUID> ids = UUID::randomUUID;
+
+    /**
+     * Tells whether writes are behind.
+     *
+     * @return If a directory is set.
+     */
+    public boolean isEnabled() {
+      return !dir.isBlank();
+    }
+  }
+
+  private void drain() {
+    try {
+      flush();
+    } catch (final RuntimeException e) {
+      log.error("Journal [{}] could not be drained: {}", name, e.getMessage());
+    }
+  }
+
+  /**
+   * Forces the current segment to disk, unless a concurrent call has already
+   * done it up to the provided offset.
+   *
+   * @param end Offset which must be on disk.
+   */
+  @lombok.SneakyThrows
+  private void sync(final long end) {
+    synchronized (syncing) {
+      if (synced >= end) {
+        return;
+      }
+      final FileChannel ch;
+      final long upTo;
+      synchronized (this) {
+        ch = out;
+        upTo = written;
+      }
+      ch.force(Boolean.FALSE);
+      synced = upTo;
+    }
+  }
+
+  /**
+   * Closes the current segment, on disk, and opens the following one. Meant
+   * to be called while holding both locks.
+   */
+  @lombok.SneakyThrows
+  private void rotate() {
+    out.force(Boolean.FALSE);
+    out.close();
+    synced = written;
+    segment++;
+    out = openSegment();
+  }
+
+  /**
+   * Stores the batch chunk by chunk. A failing chunk is retried one resource
+   * at a time: the ones which still fail are moved to the dead-letter file,
+   * unless all of them do, which is taken as the storage being down and
+   * rethrown to retry later.
+   *
+   * @param batch Resources to store.
+   */
+  private void store(final @NonNull Map<UUID, T> batch) {
+    val es = List.copyOf(batch.entrySet());
+    for (var i = 0; i < es.size(); i += rows) {
+      val chunk = es.subList(i, Math.min(es.size(), i + rows)).stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey,
+                                              Map.Entry::getValue,
+                                              (a, b) -> b,
+                                              LinkedHashMap::new));
+      try {
+        sink.accept(chunk);
+      } catch (final RuntimeException e) {
+        val failed = new LinkedHashMap<UUID, T>();
+        RuntimeException last = e;
+        for (val c : chunk.entrySet()) {
+          try {
+            sink.accept(Map.of(c.getKey(), c.getValue()));
+          } catch (final RuntimeException ex) {
+            failed.put(c.getKey(), c.getValue());
+            last = ex;
+          }
+        }
+        if (failed.size() == chunk.size()) {
+          throw last;
+        }
+        bury(failed);
+        log.error("Journal [{}] moved {} to its dead letters: {}", name,
+                  failed.keySet(), last.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Appends resources which cannot be stored to the dead-letter file, on
+   * disk, in the same line format as the segments.
+   *
+   * @param failed Resources to set aside.
+   */
+  @lombok.SneakyThrows
+  private void bury(final @NonNull Map<UUID, T> failed) {
+    val lines = failed.entrySet().stream()
+                      .map(e -> lineOf(e.getKey(), e.getValue()))
+                      .collect(Collectors.joining());
+    try (val ch = FileChannel.open(dir.resolve(name + DEAD + SUFFIX),
+                                   StandardOpenOption.CREATE,
+                                   StandardOpenOption.WRITE,
+                                   StandardOpenOption.APPEND)) {
+      val buf = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+      while (buf.hasRemaining()) {
+        ch.write(buf);
+      }
+      ch.force(Boolean.FALSE);
+    }
+  }
+
+  private String lineOf(final @NonNull UUID id, final @NonNull T t) {
+    val entry = new JsonObject();
+    entry.addProperty(ID, id.toString());
+    entry.add(VALUE, GSON.toJsonTree(t));
+    return GSON.toJson(entry) + System.lineSeparator();
+  }
+
+  /**
+   * Reads back segments left over, a torn last line apart, and stores them
+   * before any new write is taken.
+   */
+  @lombok.SneakyThrows
+  private void replay() {
+    val left = segmentsUpTo(Long.MAX_VALUE);
+    for (val p : left) {
+      segment = Math.max(segment, sequenceOf(p));
+      for (val line : Files.readAllLines(p, StandardCharsets.UTF_8)) {
+        try {
+          val e = GSON.fromJson(line, JsonObject.class);
+          val id = UUID.fromString(e.get(ID).getAsString());
+          pending.remove(id);
+          pending.put(id, GSON.fromJson(e.get(VALUE), ref));
+        } catch (final RuntimeException ex) {
+          log.error("Journal [{}] skipped a line from {}", name, p);
+        }
+      }
+    }
+    segment++;
+    out = openSegment();
+    if (!pending.isEmpty()) {
+      log.info("Journal [{}] replaying {} entries", name, pending.size());
+      flush();
+    } else {
+      for (val p : left) {
+        Files.deleteIfExists(p);
+      }
+    }
+  }
+
+  @lombok.SneakyThrows
+  private FileChannel openSegment() {
+    return FileChannel.open(dir.resolve(name + "." + segment + SUFFIX),
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.APPEND);
+  }
+
+  /**
+   * Lists this journal's segments, in the same order they were written.
+   *
+   * @param last Sequence of the last segment to list.
+   * @return Segments up to the provided one, included.
+   */
+  @lombok.SneakyThrows
+  private List<Path> segmentsUpTo(final long last) {
+    val p = Pattern.compile(Pattern.quote(name) + "\\.\\d+"
+                                + Pattern.quote(SUFFIX));
+    try (val files = Files.list(dir)) {
+      return files.filter(f -> p.matcher(f.getFileName().toString()).matches())
+                  .filter(f -> sequenceOf(f) <= last)
+                  .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                  .collect(Collectors.toList());
+    }
+  }
+
+  private long sequenceOf(final @NonNull Path p) {
+    val f = p.getFileName().toString();
+    return Long.parseLong(f.substring(name.length() + 1,
+                                      f.length() - SUFFIX.length()));
+  }
+}
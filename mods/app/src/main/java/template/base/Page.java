@@ -0,0 +1,98 @@
+package template.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Page representation from application context. Meant to slice a resource set
+ * on the dependent layers, whether by skipping entries or by seeking right
+ * after the last entry from a previous page.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Page {
+
+  int skip;
+  int limit;
+  List<String> after;
+  /**
+   * Attributes which the resource set is sorted by, before the identity.
+   */
+  @With
+  @NonNull List<Sort> sort;
+
+  /**
+   * Creates a page which skips a given amount of entries from the start of the
+   * resource set.
+   *
+   * @param skip  Entries from the first to skip.
+   * @param limit Entries up to limit to.
+   * @return Page to slice a resource set by offset.
+   * @see #after(List, int)
+   */
+  public static Page of(final int skip, final int limit) {
+    return new Page(skip, limit, null, List.of());
+  }
+
+  /**
+   * Creates a page which starts right after the provided seek key, regardless
+   * of how deep it is in the resource set.
+   *
+   * @param key   Values from the last entry of the previous page, in the same
+   *              order the resource set is sorted by. Identity comes last.
+   *              Absent values are kept as {@code null}.
+   * @param limit Entries up to limit to.
+   * @return Page to slice a resource set by keyset.
+   * @see #of(int, int)
+   */
+  public static Page after(final @NonNull List<String> key, final int limit) {
+    return new Page(0, limit,
+                    Collections.unmodifiableList(new ArrayList<>(key)),
+                    List.of());
+  }
+
+  /**
+   * Provides the seek key, if this page is keyset-based.
+   *
+   * @return Values from the last entry of the previous page.
+   */
+  public final Optional<List<String>> getAfter() {
+    return Optional.ofNullable(after);
+  }
+
+  /**
+   * Indicates the resource set runs backwards, which happens only when every
+   * sorting attribute is descending. Identity follows the same direction.
+   *
+   * @return If the identity is sorted in descending order.
+   */
+  public final boolean isDescending() {
+    return !sort.isEmpty() && sort.stream().allMatch(Sort::isDescending);
+  }
+
+  /**
+   * Attribute which a resource set is sorted by.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  @Value(staticConstructor = "of")
+  public static class Sort {
+    /**
+     * Attribute name, in the same form it is serialized to.
+     */
+    @NonNull String name;
+    /**
+     * Indicates descending order.
+     */
+    boolean descending;
+  }
+}
@@ -55,6 +55,19 @@ public interface Buildable<B> {
     P part3(final @lombok.NonNull C c);
   }
 
+  /**
+   * Utility interface for implementing {@link Buildable}'s component's fourth
+   * injectable.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">>Diego Rocha</a>
+   * @see Buildable.Part1
+   * @see Buildable.Part3
+   */
+  interface Part4<P extends Part4<P, B, C>, B, C> extends Buildable<B> {
+    @dagger.BindsInstance
+    P part4(final @lombok.NonNull C c);
+  }
+
   /**
    * Utility interface for implementing {@link Buildable}'s component's first
    * dependency.
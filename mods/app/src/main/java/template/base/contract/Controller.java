@@ -2,12 +2,23 @@ package template.base.contract;
 
 import static template.base.contract.Params.ROOT_ID;
 
+import com.google.gson.reflect.TypeToken;
 import io.javalin.apibuilder.CrudHandler;
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
-import java.util.Comparator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import lombok.val;
 import template.base.Exceptions;
@@ -25,28 +36,97 @@ public interface Controller<D extends Domain<D>> extends CrudHandler,
                                                          Router.Path<D> {
 
   /**
-   * Creates a resource into a {@link D domain} context.
+   * Creates a resource into a {@link D domain} context. A JSON array creates
+   * all of its items at once, responding with their identities in the same
+   * order. Either every item is created or none is.
    * <br/>
    * <b>Requirements:</b>
    * <ul>
    *   <li>Request body must not be empty;</li>
    *   <li>Request body must contain related attributes as JSON properties
    *   and corresponding value according to domain's each indexed
-   *   {@link Domain.Invariant}.</li>
+   *   {@link Domain.Invariant}, for every item when it is an array.</li>
    * </ul>
    *
    * @param ctx Application's context.
    */
   @Override
   default void create(final @lombok.NonNull Context ctx) {
+    if (ctx.body().stripLeading().startsWith("[")) {
+      final List<D> body = Exceptions.EMPTY_BODY.trapIn(() -> Params.MAPPER
+          .fromJson(ctx.body(), TypeToken
+              .getParameterized(List.class, ref()).getType()));
+      Exceptions.EMPTY_BODY.throwIf(body::isEmpty,
+                                    () -> body.contains(null));
+      body.forEach(Domain::validate);
+      ctx.status(201);
+      ctx.result(Params.MAPPER.toJson(create(body)));
+      return;
+    }
     val body = Exceptions.EMPTY_BODY.trapIn(() -> ctx.bodyAsClass(ref()));
     ctx.status(201);
     ctx.result(create(Domain.validate(body)).toString());
   }
 
+  /**
+   * Imports resources into a {@link D domain} context from a NDJSON request
+   * body, one resource per line. Lines are parsed and validated as they
+   * arrive, so the body is never held in memory as a whole. Valid resources
+   * are stored in a single transaction, and invalid lines are reported by
+   * their numbers along with the reason they were rejected for. A line
+   * holding no resource, such as {@code null}, is malformed; blank ones are
+   * skipped.
+   *
+   * @param ctx Application's context.
+   * @throws IOException if the request body cannot be read.
+   */
+  default void importAll(final @lombok.NonNull Context ctx)
+      throws IOException {
+    val rejected = new TreeMap<Integer, Object>();
+    val line = new AtomicInteger();
+    try (val r = new BufferedReader(new InputStreamReader(
+        ctx.bodyAsInputStream(), StandardCharsets.UTF_8))) {
+      val imported = load(r.lines().map(s -> {
+        val n = line.incrementAndGet();
+        try {
+          return Optional.of(s).filter(l -> !l.isBlank())
+                         .map(l -> Objects.requireNonNull(
+                             Params.MAPPER.fromJson(l, ref())))
+                         .map(Domain::validate);
+        } catch (final Domain.Violation e) {
+          rejected.put(n, e.getInvariants());
+        } catch (final RuntimeException e) {
+          rejected.put(n, Params.MALFORMED);
+        }
+        return Optional.<D>empty();
+      }).flatMap(Optional::stream));
+      ctx.result(Params.MAPPER.toJson(Map.of(Params.IMPORTED, imported,
+                                             Params.REJECTED, rejected)));
+    }
+  }
+
+  /**
+   * Exports every resource from a {@link D domain} context as NDJSON, one
+   * {@code {"id": resource}} object per line, sorted by identity. Resources
+   * are written to the response as they are read from the storage, so the
+   * resource set is never held in memory as a whole. The response is
+   * compressed whenever the client accepts gzip.
+   *
+   * @param ctx Application's context.
+   * @throws IOException if the response body cannot be written.
+   */
+  default void exportAll(final @lombok.NonNull Context ctx)
+      throws IOException {
+    try (val out = Params.writerFrom(ctx)) {
+      export((id, d) -> Params.lineTo(out, Map.of(id, d)));
+    }
+  }
+
   /**
    * Retrieves a resource in a domain context identified by provided identity
-   * parameter.
+   * parameter. It can be narrowed down to the attributes requested through
+   * query parameter {@code fields}, which must correspond to domain's
+   * attributes.
    *
    * @param ctx Application's context.
    * @param id  Identity key which it must correspond to an existing resource.
@@ -54,34 +134,85 @@ public interface Controller<D extends Domain<D>> extends CrudHandler,
   @Override
   default void getOne(final @lombok.NonNull Context ctx,
                       final @lombok.NonNull String id) {
+    val fields = Params.fieldsFrom(ctx, ref());
     val uuid = Exceptions.INVALID_ID.trapIn(() -> UUID.fromString(id));
-    ctx.result(Params.MAPPER.toJson(get(uuid)));
+    val found = get(uuid);
+    ctx.result(Params.MAPPER.toJson(
+        fields.<Object>map(f -> Params.trimOf(found, f)).orElse(found)));
   }
 
   /**
    * Retrieves all resources from a domain context. Query parameters can
-   * optionally be sent for filtering purposes.
+   * optionally be sent for filtering and sorting purposes. Entries come in the
+   * same order the persistence layer sorts them by, which is by identity when
+   * no sorting attribute is sent. Whenever the page is full, a continuation
+   * token is exposed to seek the next one with. Specific resources can be
+   * retrieved at once through query parameter {@code ids} instead, which come
+   * in the same order as requested and omit the ones not found.
+   *
+   * @param ctx Application's context.
+   * @see #getAll(Context, List)
+   */
+  @Override
+  default void getAll(final @lombok.NonNull Context ctx) {
+    getAll(ctx, List.of());
+  }
+
+  /**
+   * Retrieves all resources from a domain context, optionally embedding their
+   * associated resources from aggregated domain contexts requested through
+   * query parameter {@code include}. Associated resources are retrieved with
+   * a single query per aggregate for the whole page. Entries can be narrowed
+   * down to the attributes requested through query parameter {@code fields},
+   * which are the only ones selected from the storage. How many entries match
+   * the filter query can be requested through query parameter {@code count},
+   * either exactly or estimated, which is then exposed through a header.
    * <br/>
    * Requirements:
    * <ul>
    *   <li>Filter query must correspond to domain's attributes;</li>
+   *   <li>Query parameter {@code sort} must correspond to domain's
+   *   attributes;</li>
    *   <li>Query parameter {@code limit} must be positive and higher than
-   *   {@code skip}.</li>
+   *   {@code skip};</li>
+   *   <li>Query parameter {@code cursor} must not be sent along with
+   *   {@code skip}, and requires the sort it was issued for;</li>
+   *   <li>Query parameter {@code include} must correspond to the provided
+   *   aggregates' domain contexts;</li>
+   *   <li>Query parameter {@code fields} must correspond to domain's
+   *   attributes;</li>
+   *   <li>Query parameter {@code count} must be either {@code exact} or
+   *   {@code estimated}.</li>
    * </ul>
    *
-   * @param ctx Application's context.
+   * @param ctx      Application's context.
+   * @param includes Aggregates whose resources can be embedded.
    */
-  @Override
-  default void getAll(final @lombok.NonNull Context ctx) {
-    val skip = Params.SKIP.valFrom(ctx, Integer::parseInt)
-                          .filter(i -> i > 0).orElse(0);
-    val limit = Params.LIMIT.valFrom(ctx, Integer::parseInt)
-                            .filter(i -> i > 0).orElse(30);
-    Exceptions.ILLEGAL_ARGUMENT.throwIf(Params.MSG, () -> skip > limit);
-    val sourced = get(Params.FQ.bodyFrom(ctx, ref()), skip, limit);
-    val sorted = new TreeMap<UUID, D>(Comparator.comparing(sourced::get));
-    sorted.putAll(sourced);
-    ctx.result(Params.MAPPER.toJson(sorted));
+  default void getAll(final @lombok.NonNull Context ctx,
+                      final @lombok.NonNull List<Aggregate<D, ?>> includes) {
+    val embed = Params.includesFrom(ctx, includes);
+    val fields = Params.fieldsFrom(ctx, ref());
+    val ids = Params.idsFrom(ctx);
+    final Map<UUID, ?> found;
+    if (ids.isPresent()) {
+      val all = get(ids.get());
+      found = fields.<Map<UUID, ?>>map(f -> Params.trimOn(all, f)).orElse(all);
+    } else {
+      val page = Params.pageFrom(ctx, ref());
+      val criteria = Params.FQ.bodyFrom(ctx, ref());
+      Params.countOn(ctx, () -> count(criteria), () -> estimate(criteria));
+      if (fields.isPresent()) {
+        val rows = get(criteria, page, fields.get().keySet());
+        Params.nextFrom(ctx, page, rows);
+        found = Params.projectOn(rows, fields.get());
+      } else {
+        val all = get(criteria, page);
+        Params.nextFrom(ctx, page, all);
+        found = all;
+      }
+    }
+    ctx.result(Params.MAPPER.toJson(
+        embed.isEmpty() ? found : Params.embedOn(found, embed)));
   }
 
   /**
@@ -99,6 +230,79 @@ public interface Controller<D extends Domain<D>> extends CrudHandler,
     ctx.status(update(uuid, d) ? 204 : 404);
   }
 
+  /**
+   * Stores a resource in a domain context under the identity from the path,
+   * creating it if missing or replacing it otherwise, in a single round trip.
+   * Responds with no content either way.
+   * <br/>
+   * <b>Requirements:</b>
+   * <ul>
+   *   <li>Request body must not be empty;</li>
+   *   <li>Request body must follow domain's each indexed
+   *   {@link Domain.Invariant}.</li>
+   * </ul>
+   *
+   * @param ctx Application's context.
+   */
+  default void put(final @lombok.NonNull Context ctx) {
+    val uuid = Exceptions.INVALID_ID
+        .trapIn(() -> UUID.fromString(ctx.pathParam(Params.ID)));
+    Exceptions.EMPTY_BODY.throwIf(() -> ctx.body().isBlank());
+    val d = Domain.validate(ctx.bodyAsClass(ref()));
+    Exceptions.UNPROCESSABLE_ENTITY.throwIf(() -> !put(uuid, d));
+    ctx.status(204);
+  }
+
+  /**
+   * Updates a set of resources in a domain context at once, from a JSON object
+   * which maps each identity to its resource. Responds with the identities
+   * which were actually found and updated.
+   * <br/>
+   * <b>Requirements:</b>
+   * <ul>
+   *   <li>Request body must not be empty;</li>
+   *   <li>Every resource must follow domain's each indexed
+   *   {@link Domain.Invariant}.</li>
+   * </ul>
+   *
+   * @param ctx Application's context.
+   */
+  default void updateAll(final @lombok.NonNull Context ctx) {
+    Exceptions.EMPTY_BODY.throwIf(() -> ctx.body().isBlank());
+    final Map<UUID, D> body = Exceptions.EMPTY_BODY.trapIn(
+        () -> Params.MAPPER.fromJson(ctx.body(), TypeToken
+            .getParameterized(Map.class, UUID.class, ref()).getType()));
+    Exceptions.EMPTY_BODY.throwIf(body::isEmpty,
+                                  () -> body.containsValue(null));
+    body.values().forEach(Domain::validate);
+    ctx.result(Params.MAPPER.toJson(update(body)));
+  }
+
+  /**
+   * Deletes a set of resources in a domain context at once, either the ones
+   * matching the filter query or the ones identified by a JSON array from the
+   * request body. Responds with the identities which were actually deleted.
+   * <br/>
+   * <b>Requirements:</b>
+   * <ul>
+   *   <li>Filter query must correspond to domain's attributes and must not
+   *   be empty;</li>
+   *   <li>Otherwise, request body must be a non-empty array of
+   *   identities.</li>
+   * </ul>
+   *
+   * @param ctx Application's context.
+   */
+  default void deleteAll(final @lombok.NonNull Context ctx) {
+    final Set<UUID> deleted;
+    if (Params.FQ.valFrom(ctx, Function.identity()).isPresent()) {
+      deleted = delete(Params.FQ.bodyFrom(ctx, ref()));
+    } else {
+      deleted = delete(Params.idsOf(ctx));
+    }
+    ctx.result(Params.MAPPER.toJson(deleted));
+  }
+
   /**
    * Deletes a resource in a domain context.
    *
@@ -168,28 +372,68 @@ public interface Controller<D extends Domain<D>> extends CrudHandler,
           + "/" + extRef().getSimpleName().toLowerCase() + Path.PATH_ID;
     }
 
+    /**
+     * Standard path for exporting every association between resources from
+     * both domain contexts.
+     *
+     * @return String with pattern {@code {1st-domain}/{2nd-domain}/export}.
+     */
+    default String exportPath() {
+      return ref().getSimpleName().toLowerCase() + "/"
+          + extRef().getSimpleName().toLowerCase() + Path.PATH_EXPORT;
+    }
+
+    /**
+     * Exports every association between resources from both domain contexts
+     * as NDJSON, one object per line holding both identities by their domain
+     * context names. Associations are written to the response as they are
+     * read from the storage, and compressed whenever the client accepts gzip.
+     *
+     * @param ctx Application's context.
+     * @throws IOException if the response body cannot be written.
+     */
+    default void exportAll(final @lombok.NonNull Context ctx)
+        throws IOException {
+      val from = ref().getSimpleName().toLowerCase();
+      val to = extRef().getSimpleName().toLowerCase();
+      try (val out = Params.writerFrom(ctx)) {
+        export((r, e) -> Params.lineTo(out, Map.of(from, r, to, e)));
+      }
+    }
+
     /**
      * Exposes all resources from the projected domain context that are
-     * associated with resources from {@link T root domain context}.
+     * associated with resources from {@link T root domain context}. Whenever
+     * the page is full, a continuation token is exposed to seek the next one
+     * with. Entries can be narrowed down to the attributes requested through
+     * query parameter {@code fields}, which are the only ones selected from
+     * the storage.
      * <br/>
      * <b>Requirements:</b>
      * <ul>
-     *   <li>Root domain resource from first path variable must exist.</li>
+     *   <li>Root domain resource from first path variable must exist;</li>
+     *   <li>Query parameter {@code fields} must correspond to projected
+     *   domain's attributes.</li>
      * </ul>
      *
      * @param ctx Application's context.
      */
     @Override
     default void getAll(final @lombok.NonNull Context ctx) {
-      final int skip = Params.SKIP.valFrom(ctx, Integer::parseInt)
-                                  .filter(i -> i > 0).orElse(0);
-      final int limit = Params.LIMIT.valFrom(ctx, Integer::parseInt)
-                                    .filter(i -> i > 0).orElse(30);
-      Exceptions.ILLEGAL_ARGUMENT.throwIf(Params.MSG, () -> skip > limit);
+      val page = Params.pageFrom(ctx, extRef());
       val root = Exceptions.INVALID_ID
           .trapIn(() -> UUID.fromString(ctx.pathParam(ROOT_ID)));
       val criteria = Params.FQ.bodyFrom(ctx, extRef());
-      ctx.result(Params.MAPPER.toJson(getFrom(root, criteria, skip, limit)));
+      val fields = Params.fieldsFrom(ctx, extRef());
+      if (fields.isPresent()) {
+        val rows = getFrom(root, criteria, page, fields.get().keySet());
+        Params.nextFrom(ctx, page, rows);
+        ctx.result(Params.MAPPER.toJson(Params.projectOn(rows, fields.get())));
+        return;
+      }
+      val found = getFrom(root, criteria, page);
+      Params.nextFrom(ctx, page, found);
+      ctx.result(Params.MAPPER.toJson(found));
     }
 
     /**
@@ -211,7 +455,10 @@ public interface Controller<D extends Domain<D>> extends CrudHandler,
       val root = Exceptions.INVALID_ID
           .trapIn(() -> UUID.fromString(ctx.pathParam(ROOT_ID)));
       val uuid = Exceptions.INVALID_ID.trapIn(() -> UUID.fromString(id));
-      ctx.result(Params.MAPPER.toJson(getFrom(root, uuid)));
+      val fields = Params.fieldsFrom(ctx, extRef());
+      val found = getFrom(root, uuid);
+      ctx.result(Params.MAPPER.toJson(
+          fields.<Object>map(f -> Params.trimOf(found, f)).orElse(found)));
     }
 
     /**
@@ -257,6 +504,45 @@ public interface Controller<D extends Domain<D>> extends CrudHandler,
       ctx.status(204);
     }
 
+    /**
+     * Creates correlations between the root resource and the ones identified
+     * by a JSON array from the request body, all at once. Root resource is
+     * looked up only once. Responds with the identities which were actually
+     * bound, skipping missing and already bound ones.
+     * <br/>
+     * <b>Requirements:</b>
+     * <ul>
+     *   <li>Root domain resource from first path variable must exist;</li>
+     *   <li>Request body must be a non-empty array of identities.</li>
+     * </ul>
+     *
+     * @param ctx Application's context.
+     */
+    default void linkAll(final @lombok.NonNull Context ctx) {
+      val root = Exceptions.INVALID_ID
+          .trapIn(() -> UUID.fromString(ctx.pathParam(ROOT_ID)));
+      ctx.result(Params.MAPPER.toJson(link(root, Params.idsOf(ctx))));
+    }
+
+    /**
+     * Removes correlations between the root resource and the ones identified
+     * by a JSON array from the request body, all at once. Responds with the
+     * identities which were actually unbound.
+     * <br/>
+     * <b>Requirements:</b>
+     * <ul>
+     *   <li>Root domain resource from first path variable must exist;</li>
+     *   <li>Request body must be a non-empty array of identities.</li>
+     * </ul>
+     *
+     * @param ctx Application's context.
+     */
+    default void unlinkAll(final @lombok.NonNull Context ctx) {
+      val root = Exceptions.INVALID_ID
+          .trapIn(() -> UUID.fromString(ctx.pathParam(ROOT_ID)));
+      ctx.result(Params.MAPPER.toJson(unlink(root, Params.idsOf(ctx))));
+    }
+
     /**
      * Removes correlation between provided identities' resources, only if
      * there is any.
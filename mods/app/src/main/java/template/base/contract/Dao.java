@@ -1,20 +1,58 @@
 package template.base.contract;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import lombok.val;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
-import org.jooq.Operator;
+import org.jooq.DataType;
+import org.jooq.Field;
+import org.jooq.Param;
+import org.jooq.Query;
 import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.SQLDialect;
+import org.jooq.SortField;
 import org.jooq.Table;
 import org.jooq.impl.DSL;
+import org.postgresql.PGConnection;
 import template.base.Body;
 import template.base.Exceptions;
+import template.base.Filter;
+import template.base.Page;
+import template.base.stereotype.Referable;
 
 /**
  * Data Access Object, ensembles persistence communication concerns.
@@ -23,33 +61,192 @@ import template.base.Exceptions;
  */
 public interface Dao {
 
-  String ID = "ID";
+  /**
+   * Rows handled per round trip, when streaming them in or out.
+   */
+  int CHUNK = 1_000;
 
   /**
    * Loads a mapping handler for a given database mapping type.
    *
-   * @param ref Resource's type reference for <i>from/to</i> serialization.
-   * @param <T> Resource handled by the implementing operations.
+   * @param mapping Resource's <i>from/to</i> row conversion.
+   * @param <T>     Resource handled by the implementing operations.
+   * @param <R>     Row which the resource is stored as.
    * @return Instance which operates on database mechanisms and concerns.
    */
-  <T> Mapper<T, UUID> from(final @lombok.NonNull Class<T> ref);
+  <T, R extends Record> Mapper<T, UUID> from(
+      final @lombok.NonNull Mapping<T, R> mapping);
 
   /**
    * Loads a mapping handler for a given database mapping type.
    *
    * @param root    Identity which indexes an entity from the {@link T root
    *                domain} context.
-   * @param ref     Resource's type reference for <i>from/to</i> serialization.
-   * @param extRef  Resource's type reference for <i>from/to</i> serialization.
+   * @param base    Resource's <i>from/to</i> row conversion, which the
+   *                association will be based on.
+   * @param ext     Resource's <i>from/to</i> row conversion.
    * @param canBind States if the two resources can be bound themselves.
    * @param <T>     Resource which the association will be based on.
    * @param <U>     Resource handled by the following operations.
+   * @param <S>     Row which the handled resource is stored as.
    * @return Instance which operates on database mechanisms and concerns.
    */
-  <T, U> Mapper.Composed<U, UUID> from(final @lombok.NonNull UUID root,
-                                       final @lombok.NonNull Class<T> ref,
-                                       final @lombok.NonNull Class<U> extRef,
-                                       final @lombok.NonNull Predicate<U> canBind);
+  <T, U, S extends Record> Mapper.Composed<U, UUID> from(
+      final @lombok.NonNull UUID root,
+      final @lombok.NonNull Mapping<T, ?> base,
+      final @lombok.NonNull Mapping<U, S> ext,
+      final @lombok.NonNull Predicate<U> canBind);
+
+  /**
+   * Retrieves the resources associated with each one of several roots at
+   * once, in a single query.
+   *
+   * @param roots Identities which index entities from the root domain
+   *              context.
+   * @param base  Resource's <i>from/to</i> row conversion, which the
+   *              association is based on.
+   * @param ext   Resource's <i>from/to</i> row conversion.
+   * @param <U>   Resource associated with the roots.
+   * @param <S>   Row which the associated resource is stored as.
+   * @return Associated resources indexed by identity, grouped by their root.
+   *     Every provided root is present, even when nothing is associated with
+   *     it.
+   */
+  <U, S extends Record> Map<UUID, Map<UUID, U>> getFrom(
+      final @lombok.NonNull Set<UUID> roots,
+      final @lombok.NonNull Mapping<?, ?> base,
+      final @lombok.NonNull Mapping<U, S> ext);
+
+  /**
+   * Walks through every association between resources from two domain
+   * contexts, regardless of the root they are based on.
+   *
+   * @param base Resource's <i>from/to</i> row conversion, which the
+   *             association is based on.
+   * @param ext  Resource's <i>from/to</i> row conversion.
+   * @param sink Receives both identities from each association.
+   * @return Amount of associations walked through.
+   */
+  long export(final @lombok.NonNull Mapping<?, ?> base,
+              final @lombok.NonNull Mapping<?, ?> ext,
+              final @lombok.NonNull BiConsumer<UUID, UUID> sink);
+
+  /**
+   * Converts between a resource and its table row, which is generated at
+   * build time out from the database changelog. Meant to be implemented once
+   * per resource, so no reflection nor intermediate serialization takes place
+   * on each read or write.
+   *
+   * @param <T> Resource handled by the implementing operations.
+   * @param <R> Row which the resource is stored as.
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  interface Mapping<T, R extends Record> extends Referable<T> {
+
+    /**
+     * Provides the table which the resource is stored on. Its primary key is
+     * taken as the resource's identity.
+     *
+     * @return The typed table.
+     */
+    Table<R> table();
+
+    /**
+     * Reads a resource from a fetched row.
+     *
+     * @param r Row which holds the resource's columns.
+     * @return The resource.
+     */
+    T from(final @lombok.NonNull R r);
+
+    /**
+     * Writes a resource into a row, identity apart.
+     *
+     * @param t The resource.
+     * @return Row which holds the resource's columns.
+     */
+    R to(final @lombok.NonNull T t);
+  }
+
+  /**
+   * Statements rendered once per kind and table, so that following executions
+   * only bind new values to the same SQL. Meant to live as long as the
+   * {@link DSLContext} the statements are rendered with.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  final class Templates {
+
+    /**
+     * Statement kinds which do not depend on request input.
+     */
+    private enum Kind {
+      GET, INSERT, UPDATE, DELETE, LINK, LINK_CREATED, UNLINK,
+    }
+
+    private final Map<List<Object>, String> rendered =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Provides the rendered SQL for the given kind and tables, rendering it
+     * only on the first call.
+     *
+     * @param query  Query to render, with a parameter marker on each value.
+     * @param kind   Statement kind.
+     * @param tables Tables the statement is about.
+     * @return SQL to be executed along with bind values.
+     */
+    private String of(final @lombok.NonNull Supplier<Query> query,
+                      final @lombok.NonNull Kind kind,
+                      final @lombok.NonNull Table<?>... tables) {
+      return rendered.computeIfAbsent(List.of(kind, List.of(tables)),
+                                      k -> query.get().getSQL());
+    }
+  }
+
+  /**
+   * Identity generation strategies for newly created resources.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  enum Ids implements Supplier<UUID> {
+    /**
+     * Version 4 layout, drawn from a shared secure random source. Identities
+     * are spread all over the primary key index.
+     */
+    RANDOM {
+      @Override
+      public UUID get() {
+        return UUID.randomUUID();
+      }
+    },
+    /**
+     * Version 7 layout: Unix epoch milliseconds, then a 12-bit sequence and 62
+     * random bits. Both sequence and random bits come from per-thread state,
+     * so threads do not contend with each other, and identities created on
+     * the same thread are strictly increasing. New entries land right at the
+     * primary key index's edge.
+     */
+    TIME_ORDERED {
+      @Override
+      public UUID get() {
+        val tick = TICK.get();
+        tick[0] = Math.max(System.currentTimeMillis() << 12, tick[0] + 1);
+        val msb = tick[0] << 4 & 0xFFFF_FFFF_FFFF_0000L
+            | 0x7000L | tick[0] & 0xFFFL;
+        val lsb = ThreadLocalRandom.current().nextLong() >>> 2
+            | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+      }
+    },
+    ;
+    /**
+     * Last milliseconds and sequence issued on each thread, packed together.
+     * A sequence overflow carries on to the following millisecond.
+     */
+    private static final ThreadLocal<long[]> TICK =
+        ThreadLocal.withInitial(() -> new long[1]);
+  }
 
   /**
    * Provides generic database operations.
@@ -63,14 +260,40 @@ public interface Dao {
     Optional<T> get(final @lombok.NonNull I i);
 
     Map<I, T> get(final @lombok.NonNull Body<T> criteria,
-                  final int skip, final int limit);
+                  final @lombok.NonNull Page page);
+
+    Map<I, Map<String, Object>> get(final @lombok.NonNull Body<T> criteria,
+                                    final @lombok.NonNull Page page,
+                                    final @lombok.NonNull Set<String> fields);
+
+    Map<I, T> get(final @lombok.NonNull Set<I> is);
+
+    long count(final @lombok.NonNull Body<T> criteria);
+
+    long estimate(final @lombok.NonNull Body<T> criteria);
 
     I create(final @lombok.NonNull T t);
 
+    List<I> create(final @lombok.NonNull List<T> ts);
+
+    long load(final @lombok.NonNull Stream<T> ts);
+
+    long export(final @lombok.NonNull BiConsumer<I, T> sink);
+
     boolean update(final @lombok.NonNull I i, final @lombok.NonNull T t);
 
+    Set<I> update(final @lombok.NonNull Map<I, T> ts);
+
+    boolean put(final @lombok.NonNull I i, final @lombok.NonNull T t);
+
+    Set<I> put(final @lombok.NonNull Map<I, T> ts);
+
     boolean delete(final @lombok.NonNull I i);
 
+    Set<I> delete(final @lombok.NonNull Set<I> is);
+
+    Set<I> delete(final @lombok.NonNull Body<T> criteria);
+
     /**
      * Provides generic database operations composed with two tables.
      *
@@ -84,179 +307,1727 @@ public interface Dao {
       Optional<U> get(final @lombok.NonNull I i);
 
       Map<I, U> get(final @lombok.NonNull Body<U> criteria,
-                    final int skip, final int limit);
+                    final @lombok.NonNull Page page);
+
+      Map<I, Map<String, Object>> get(
+          final @lombok.NonNull Body<U> criteria,
+          final @lombok.NonNull Page page,
+          final @lombok.NonNull Set<String> fields);
 
       I create(final @lombok.NonNull U u);
 
       boolean link(final @lombok.NonNull I id);
 
+      Set<I> link(final @lombok.NonNull Set<I> ids);
+
       boolean unlink(final @lombok.NonNull I id);
+
+      Set<I> unlink(final @lombok.NonNull Set<I> ids);
     }
   }
 
   /**
    * Default abstraction for persistence handling concerns. Meant to be openly
-   * extendable.
+   * extendable. Plain reads go through {@code reads}, which might point to a
+   * replica, while writes, and the reads they depend on, stay on {@code ctx}.
    *
    * @param <T> Resource from extension domain context handled by the
    *            implementing operations.
+   * @param <R> Row which the resource is stored as.
    * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
    */
   @lombok.Value(staticConstructor = "of")
-  class Default<T> implements Mapper<T, UUID> {
+  class Default<T, R extends Record> implements Mapper<T, UUID> {
+
+    private static final Pattern PLAN_ROWS =
+        Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
 
     DSLContext ctx;
-    Class<T> ref;
+    DSLContext reads;
+    Templates sql;
+    Supplier<UUID> ids;
+    Mapping<T, R> mapping;
 
     @Override
     public Optional<T> get(final @lombok.NonNull UUID uuid) {
-      return ctx.select().from(DSL.table(nameOf(ref)))
-                .where(DSL.field(ID).eq(uuid)).fetchOptional()
-                .map(r -> Body.of(r.intoMap(), ref).toType());
+      val t = mapping.table();
+      val s = sql.of(() -> ctx.selectFrom(t).where(isParam(keyOf(t))),
+                     Templates.Kind.GET, t);
+      return reads.resultQuery(s, valOf(keyOf(t), uuid)).coerce(t)
+                .fetchOptional().map(mapping::from);
     }
 
     @Override
     public Map<UUID, T> get(final @lombok.NonNull Body<T> criteria,
-                            final int s, final int l) {
-      return ctx
-          .select().from(DSL.table(nameOf(ref)))
-          .where(criteriaOf(criteria))
-          .stream().skip(s).limit(l).map(Record::intoMap).map(m -> {
-            val id = UUID.fromString(m.remove(ID).toString());
-            return Map.entry(id, Body.of(m, ref).toType());
-          }).collect(Collectors.toMap(Map.Entry::getKey,
-                                      Map.Entry::getValue));
+                            final @lombok.NonNull Page page) {
+      val t = mapping.table();
+      return reads
+          .selectFrom(t)
+          .where(criteriaOf(t, criteria)).and(seekOf(reads.family(), t, page))
+          .orderBy(orderOf(reads.family(), t, page)).offset(page.getSkip())
+          .limit(page.getLimit()).stream()
+          .collect(Collectors.toMap(r -> idOf(t, r), mapping::from,
+                                    (a, b) -> b, LinkedHashMap::new));
+    }
+
+    @Override
+    public Map<UUID, Map<String, Object>> get(
+        final @lombok.NonNull Body<T> criteria,
+        final @lombok.NonNull Page page,
+        final @lombok.NonNull Set<String> fields) {
+      val t = mapping.table();
+      return reads
+          .select(projectionOf(t, page, fields)).from(t)
+          .where(criteriaOf(t, criteria)).and(seekOf(reads.family(), t, page))
+          .orderBy(orderOf(reads.family(), t, page)).offset(page.getSkip())
+          .limit(page.getLimit()).stream()
+          .collect(Collectors.toMap(r -> idOf(t, r), r -> rowOf(t, r),
+                                    (a, b) -> b, LinkedHashMap::new));
+    }
+
+    @Override
+    public Map<UUID, T> get(final @lombok.NonNull Set<UUID> keys) {
+      val t = mapping.table();
+      return reads.selectFrom(t).where(keyOf(t).in(keys)).stream()
+                .collect(Collectors.toMap(r -> idOf(t, r), mapping::from));
+    }
+
+    @Override
+    public long count(final @lombok.NonNull Body<T> criteria) {
+      val t = mapping.table();
+      return reads.fetchCount(t, DSL.and(criteriaOf(t, criteria)));
+    }
+
+    /**
+     * Estimates how many entries match the provided criteria out of Postgres'
+     * planner statistics, sparing the scan an exact count takes. Unfiltered
+     * estimates are read from the table's statistics, and filtered ones from
+     * the rows planned for the query. Any other dialect, or a table which has
+     * not been analyzed yet, is counted exactly instead.
+     *
+     * @param criteria Attributes to match entries by.
+     * @return Estimated amount of matching entries.
+     */
+    @Override
+    public long estimate(final @lombok.NonNull Body<T> criteria) {
+      if (SQLDialect.POSTGRES != reads.family()) {
+        return count(criteria);
+      }
+      val t = mapping.table();
+      val cs = criteriaOf(t, criteria);
+      final Optional<Long> rows;
+      if (cs.isEmpty()) {
+        rows = reads.resultQuery(
+            "SELECT reltuples::bigint FROM pg_class WHERE oid = {0}::regclass",
+            DSL.val(reads.render(t))).fetchOptional(0, Long.class);
+      } else {
+        val plan = reads.resultQuery("EXPLAIN (FORMAT JSON) {0}",
+                                   reads.selectFrom(t).where(cs))
+                      .fetchOne(0, String.class);
+        val m = PLAN_ROWS.matcher(String.valueOf(plan));
+        rows = m.find() ? Optional.of(Long.parseLong(m.group(1)))
+            : Optional.empty();
+      }
+      return rows.filter(n -> n > 0).orElseGet(() -> count(criteria));
     }
 
     @Override
     public UUID create(final @lombok.NonNull T t) {
-      val m = Body.of(t).toMap();
-      val id = UUID.randomUUID();
-      m.put(ID, id.toString());
-      val f = m.keySet().stream().map(DSL::field)
-               .collect(Collectors.toList());
-      val r = Exceptions.UNPROCESSABLE_ENTITY.trapIn(() -> ctx
-          .insertInto(DSL.table(nameOf(ref)), f).values(m.values()).execute());
+      val s = sql.of(() -> insertOf(ctx), Templates.Kind.INSERT,
+                     mapping.table());
+      val id = ids.get();
+      val r = Exceptions.UNPROCESSABLE_ENTITY.trapIn(
+          () -> ctx.execute(s, valuesOf(t, id)));
       Exceptions.UNPROCESSABLE_ENTITY.throwIf(() -> 1 != r);
       return id;
     }
 
+    @Override
+    public List<UUID> create(final @lombok.NonNull List<T> ts) {
+      val created = Stream.generate(ids).limit(ts.size())
+                          .collect(Collectors.toUnmodifiableList());
+      val r = Exceptions.UNPROCESSABLE_ENTITY.trapIn(
+          () -> ctx.transactionResult(tx -> {
+            val b = DSL.using(tx).batch(insertOf(ctx));
+            for (var i = 0; i < ts.size(); i++) {
+              b.bind(bindsOf(ts.get(i), created.get(i)));
+            }
+            return b.execute();
+          }));
+      Exceptions.UNPROCESSABLE_ENTITY.throwIf(
+          () -> ts.size() != r.length,
+          () -> IntStream.of(r).anyMatch(i -> Statement.EXECUTE_FAILED == i));
+      return created;
+    }
+
     @Override
     public boolean update(final @lombok.NonNull UUID id,
                           final @lombok.NonNull T t) {
-      return 1 == ctx.update(DSL.table(nameOf(ref))).set(Body.of(t).toMap())
-                     .where(DSL.field(ID).eq(id)).execute();
+      val s = sql.of(() -> updateOf(ctx), Templates.Kind.UPDATE,
+                     mapping.table());
+      return 1 == ctx.execute(s, valuesOf(t, id));
+    }
+
+    @Override
+    public long load(final @lombok.NonNull Stream<T> ts) {
+      return Exceptions.UNPROCESSABLE_ENTITY.trapIn(
+          () -> ctx.transactionResult(tx -> SQLDialect.POSTGRES == ctx.family()
+              ? copyIn(DSL.using(tx), ts.iterator())
+              : batchIn(DSL.using(tx), ts.iterator())));
+    }
+
+    @Override
+    public long export(final @lombok.NonNull BiConsumer<UUID, T> sink) {
+      val t = mapping.table();
+      return lazily(reads, c -> c.selectFrom(t).orderBy(keyOf(t)),
+                    r -> sink.accept(idOf(t, r), mapping.from(r)));
+    }
+
+    @Override
+    public Set<UUID> update(final @lombok.NonNull Map<UUID, T> ts) {
+      val ordered = List.copyOf(ts.entrySet());
+      val r = Exceptions.UNPROCESSABLE_ENTITY.trapIn(
+          () -> ctx.transactionResult(tx -> {
+            val b = DSL.using(tx).batch(updateOf(ctx));
+            ordered.forEach(e -> b.bind(bindsOf(e.getValue(), e.getKey())));
+            return b.execute();
+          }));
+      return affectedOf(r, ordered.stream().map(Map.Entry::getKey)
+                                  .collect(Collectors.toList()));
+    }
+
+    @Override
+    public boolean put(final @lombok.NonNull UUID id,
+                       final @lombok.NonNull T t) {
+      return !put(Map.of(id, t)).isEmpty();
+    }
+
+    /**
+     * Stores resources under the provided identities, in a single transaction
+     * and a single statement each: the existing ones are replaced, and the
+     * rest is created.
+     *
+     * @param ts Resources indexed by the identity to store them under.
+     * @return Identities from every stored resource.
+     */
+    @Override
+    public Set<UUID> put(final @lombok.NonNull Map<UUID, T> ts) {
+      if (ts.isEmpty()) {
+        return Set.of();
+      }
+      val ordered = List.copyOf(ts.entrySet());
+      val r = Exceptions.UNPROCESSABLE_ENTITY.trapIn(
+          () -> ctx.transactionResult(tx -> {
+            val b = DSL.using(tx).batch(upsertOf(ctx));
+            ordered.forEach(e -> b.bind(namedOf(e.getValue(), e.getKey())));
+            return b.execute();
+          }));
+      return affectedOf(r, ordered.stream().map(Map.Entry::getKey)
+                                  .collect(Collectors.toList()));
     }
 
     @Override
     public boolean delete(final @lombok.NonNull UUID id) {
-      return 1 == ctx.delete(DSL.table(nameOf(ref)))
-                     .where(DSL.field(ID).eq(id)).execute();
+      val t = mapping.table();
+      val s = sql.of(() -> ctx.deleteFrom(t).where(isParam(keyOf(t))),
+                     Templates.Kind.DELETE, t);
+      return 1 == ctx.execute(s, valOf(keyOf(t), id));
+    }
+
+    @Override
+    public Set<UUID> delete(final @lombok.NonNull Set<UUID> keys) {
+      val id = keyOf(mapping.table());
+      val ks = List.copyOf(keys);
+      return ctx.transactionResult(tx -> {
+        val deleted = new LinkedHashSet<UUID>();
+        for (var i = 0; i < ks.size(); i += CHUNK) {
+          val chunk = ks.subList(i, Math.min(ks.size(), i + CHUNK));
+          deleted.addAll(deleteWhere(DSL.using(tx), id.in(chunk)));
+        }
+        return deleted;
+      });
+    }
+
+    @Override
+    public Set<UUID> delete(final @lombok.NonNull Body<T> criteria) {
+      Exceptions.ILLEGAL_ARGUMENT.throwIf(() -> criteria.toMap().isEmpty());
+      val c = DSL.and(criteriaOf(mapping.table(), criteria));
+      return ctx.transactionResult(tx -> deleteWhere(DSL.using(tx), c));
+    }
+
+    /**
+     * Deletes every entry which matches the provided condition. On Postgres,
+     * it is a single statement which returns the deleted identities. On any
+     * other database, they are looked up first and then deleted by
+     * {@link #CHUNK chunks}, so no statement binds too many values.
+     *
+     * @param c    Context bound to the ongoing transaction.
+     * @param cond Condition to match entries by.
+     * @return Identities from the deleted entries.
+     */
+    private Set<UUID> deleteWhere(final @lombok.NonNull DSLContext c,
+                                  final @lombok.NonNull Condition cond) {
+      val t = mapping.table();
+      val id = keyOf(t);
+      if (SQLDialect.POSTGRES == c.family()) {
+        return c.deleteFrom(t).where(cond).returningResult(id).fetch().stream()
+                .map(r -> idOf(t, r))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+      }
+      val found = c.select(id).from(t).where(cond).fetchSet(r -> idOf(t, r));
+      val ids = List.copyOf(found);
+      for (var i = 0; i < ids.size(); i += CHUNK) {
+        val chunk = ids.subList(i, Math.min(ids.size(), i + CHUNK));
+        c.deleteFrom(t).where(id.in(chunk)).execute();
+      }
+      return found;
+    }
+
+    /**
+     * Streams resources through Postgres' {@code COPY FROM STDIN}, one CSV
+     * line each, as they are consumed from the provided iterator.
+     *
+     * @param c  Context bound to the ongoing transaction.
+     * @param it Resources to store.
+     * @return Amount of stored resources.
+     */
+    private long copyIn(final @lombok.NonNull DSLContext c,
+                        final @lombok.NonNull Iterator<T> it) {
+      val t = mapping.table();
+      val cols = Stream.of(columnsOf(t)).map(Field::getUnqualifiedName)
+                       .map(c::render).collect(Collectors.joining(","));
+      val copy = "COPY " + c.render(t) + " (" + cols + ") FROM STDIN CSV";
+      return c.connectionResult(conn -> {
+        val in = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(copy);
+        try {
+          while (it.hasNext()) {
+            val b = csvOf(it.next()).getBytes(StandardCharsets.UTF_8);
+            in.writeToCopy(b, 0, b.length);
+          }
+          return in.endCopy();
+        } finally {
+          if (in.isActive()) {
+            in.cancelCopy();
+          }
+        }
+      });
+    }
+
+    /**
+     * Stores resources as batches of the same insert statement, flushing each
+     * time a chunk fills up, as they are consumed from the provided iterator.
+     *
+     * @param c  Context bound to the ongoing transaction.
+     * @param it Resources to store.
+     * @return Amount of stored resources.
+     */
+    private long batchIn(final @lombok.NonNull DSLContext c,
+                         final @lombok.NonNull Iterator<T> it) {
+      var stored = 0L;
+      while (it.hasNext()) {
+        val b = c.batch(insertOf(ctx));
+        for (var i = 0; i < CHUNK && it.hasNext(); i++) {
+          b.bind(bindsOf(it.next(), ids.get()));
+        }
+        stored += IntStream.of(b.execute())
+                           .filter(r -> Statement.EXECUTE_FAILED != r).count();
+      }
+      return stored;
+    }
+
+    private String csvOf(final @lombok.NonNull T t) {
+      return Stream.of(valuesOf(t, ids.get())).map(Param::getValue)
+                   .map(v -> null == v ? ""
+                       : '"' + String.valueOf(v).replace("\"", "\"\"") + '"')
+                   .collect(Collectors.joining(",", "", "\n"));
+    }
+
+    private Query insertOf(final @lombok.NonNull DSLContext c) {
+      val t = mapping.table();
+      return c.insertInto(t, columnsOf(t))
+              .values(Stream.of(columnsOf(t)).map(DSL::param)
+                            .collect(Collectors.toList()));
+    }
+
+    private Query updateOf(final @lombok.NonNull DSLContext c) {
+      val t = mapping.table();
+      final Map<Field<?>, Object> v = new LinkedHashMap<>();
+      Stream.of(columnsOf(t)).filter(f -> !keyOf(t).equals(f))
+            .forEach(f -> v.put(f, DSL.param(f)));
+      return c.update(t).set(v).where(isParam(keyOf(t)));
+    }
+
+    /**
+     * Renders an insert which replaces the existing entry on a key conflict.
+     * Postgres takes it as {@code INSERT ... ON CONFLICT (ID) DO UPDATE}, and
+     * any other dialect as a {@code MERGE} from a single row of values.
+     *
+     * @param c Context to render with.
+     * @return Statement whose values are bound by their columns' names.
+     * @see #namedOf(Object, UUID)
+     */
+    private Query upsertOf(final @lombok.NonNull DSLContext c) {
+      val t = mapping.table();
+      val key = keyOf(t);
+      val cols = columnsOf(t);
+      final Map<Field<?>, Object> v = new LinkedHashMap<>();
+      if (SQLDialect.POSTGRES == c.family()) {
+        Stream.of(cols).filter(f -> !key.equals(f))
+              .forEach(f -> v.put(f, DSL.param(f.getName(), f)));
+        return c.insertInto(t, cols)
+                .values(Stream.of(cols).map(f -> DSL.param(f.getName(), f))
+                              .collect(Collectors.toList()))
+                .onConflict(key).doUpdate().set(v);
+      }
+      val row = DSL.select(Stream.of(cols).map(f -> DSL.param(f.getName(), f)
+          .as(f.getName())).collect(Collectors.toList())).asTable("row");
+      Stream.of(cols).filter(f -> !key.equals(f))
+            .forEach(f -> v.put(f, row.field(f)));
+      return c.mergeInto(t).using(row)
+              .on(isSame(key, row.field(key)))
+              .whenMatchedThenUpdate().set(v)
+              .whenNotMatchedThenInsert(cols)
+              .values(Stream.of(cols).map(row::field)
+                            .collect(Collectors.toList()));
+    }
+
+    /**
+     * Names the resource's column values after their columns, so a statement
+     * which takes a value more than once is bound with it on every place.
+     *
+     * @param t  The resource.
+     * @param id Resource's identity.
+     * @return Values to bind, indexed by their columns' names.
+     */
+    private Map<String, Object> namedOf(final @lombok.NonNull T t,
+                                        final @lombok.NonNull UUID id) {
+      val cols = columnsOf(mapping.table());
+      val vs = bindsOf(t, id);
+      final Map<String, Object> named = new HashMap<>();
+      for (var i = 0; i < cols.length; i++) {
+        named.put(cols[i].getName(), vs[i]);
+      }
+      return named;
+    }
+
+    private Object[] bindsOf(final @lombok.NonNull T t,
+                             final @lombok.NonNull UUID id) {
+      return Stream.of(valuesOf(t, id)).map(Param::getValue).toArray();
+    }
+
+    /**
+     * Lines up the resource's column values in the same order the insert and
+     * update templates are rendered with, identity being the last one.
+     *
+     * @param t  The resource.
+     * @param id Resource's identity.
+     * @return Values to bind, typed by their columns.
+     */
+    private Param<?>[] valuesOf(final @lombok.NonNull T t,
+                                final @lombok.NonNull UUID id) {
+      val r = mapping.to(t);
+      val key = keyOf(mapping.table());
+      return Stream.of(columnsOf(mapping.table()))
+                   .map(f -> valOf(f, key.equals(f) ? id : r.get(f)))
+                   .toArray(Param<?>[]::new);
     }
   }
 
   /**
    * Abstraction for persistence handling concerns between two entities. Meant
-   * to be openly extendable.
+   * to be openly extendable. Entities are bound through the table which
+   * references both of them.
    *
    * @param <T> Resource which the association will be based on.
    * @param <U> Resource handled by the following operations.
+   * @param <S> Row which the handled resource is stored as.
    * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
    */
   @lombok.Value(staticConstructor = "of")
-  class Composed<T, U> implements Mapper.Composed<U, UUID> {
+  class Composed<T, U, S extends Record> implements Mapper.Composed<U, UUID> {
+
+    private static final Predicate<?> ANY = u -> Boolean.TRUE;
 
     UUID root;
     Predicate<U> canBind;
     DSLContext ctx;
-    Class<T> base;
-    Class<U> ext;
+    DSLContext reads;
+    Templates sql;
+    Supplier<UUID> ids;
+    Mapping<T, ?> base;
+    Mapping<U, S> ext;
 
     @Override
     public Optional<U> get(final @lombok.NonNull UUID uuid) {
-      return ctx.select().from(joined(base, ext))
-                .where(DSL.field(ID).eq(uuid)).fetchOptional()
-                .map(r -> Body.of(r.intoMap(), ext).toType());
+      val b = base.table();
+      val e = ext.table();
+      val l = linkOf(b, e);
+      val s = sql.of(() -> ctx.select(e.fields()).from(joined(l))
+                              .where(isParam(keyOf(e)))
+                              .and(isParam(fieldOf(l, b))),
+                     Templates.Kind.GET, b, e);
+      return reads.resultQuery(s, valOf(keyOf(e), uuid),
+                             valOf(fieldOf(l, b), root))
+                .coerce(e).fetchOptional().map(ext::from);
     }
 
     @Override
     public Map<UUID, U> get(final @lombok.NonNull Body<U> criteria,
-                            final int s, final int l) {
-      return ctx
-          .select().from(joined(base, ext)).where(criteriaOf(criteria))
-          .stream().skip(s).limit(l).map(Record::intoMap).map(m -> {
-            val id = UUID.fromString(m.remove(ID).toString());
-            return Map.entry(id, Body.of(m, ext).toType());
-          }).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                            final @lombok.NonNull Page page) {
+      val e = ext.table();
+      val l = linkOf(base.table(), e);
+      return reads
+          .select(e.fields()).from(joined(l))
+          .where(criteriaOf(e, criteria)).and(seekOf(reads.family(), e, page))
+          .and(isVal(fieldOf(l, base.table()), root))
+          .orderBy(orderOf(reads.family(), e, page)).offset(page.getSkip())
+          .limit(page.getLimit()).coerce(e).stream()
+          .collect(Collectors.toMap(r -> idOf(e, r), ext::from,
+                                    (a, b) -> b, LinkedHashMap::new));
     }
 
+    /**
+     * Provides a binding constraint which allows any resource. Binding
+     * operations are spared from reading the resource beforehand with it.
+     *
+     * @param <U> Resource to be bound.
+     * @return Predicate which is always satisfied.
+     */
+    @SuppressWarnings("unchecked")
+    public static <U> Predicate<U> any() {
+      return (Predicate<U>) ANY;
+    }
+
+    @Override
+    public Map<UUID, Map<String, Object>> get(
+        final @lombok.NonNull Body<U> criteria,
+        final @lombok.NonNull Page page,
+        final @lombok.NonNull Set<String> fields) {
+      val e = ext.table();
+      val l = linkOf(base.table(), e);
+      return reads
+          .select(projectionOf(e, page, fields)).from(joined(l))
+          .where(criteriaOf(e, criteria)).and(seekOf(reads.family(), e, page))
+          .and(isVal(fieldOf(l, base.table()), root))
+          .orderBy(orderOf(reads.family(), e, page)).offset(page.getSkip())
+          .limit(page.getLimit()).stream()
+          .collect(Collectors.toMap(r -> idOf(e, r), r -> rowOf(e, r),
+                                    (a, b) -> b, LinkedHashMap::new));
+    }
+
+    /**
+     * Creates the resource and binds it to the root one within the same
+     * transaction. As the resource has just been created, it is bound without
+     * checking for existence or former bindings.
+     *
+     * @param u Resource to be created.
+     * @return Created resource's identity.
+     */
     @Override
     public UUID create(final @lombok.NonNull U u) {
       Exceptions.UNPROCESSABLE_ENTITY.throwIf(() -> !canBind.test(u));
+      val b = base.table();
+      val e = ext.table();
+      val l = linkOf(b, e);
+      val s = sql.of(() -> ctx
+          .insertInto(l, fieldOf(l, b), fieldOf(l, e))
+          .values(List.of(DSL.param(fieldOf(l, b)), DSL.param(fieldOf(l, e)))),
+                     Templates.Kind.LINK_CREATED, b, e);
       return ctx.dsl().transactionResult(tx -> {
-        val b = Default.of(DSL.using(tx), ext);
-        val c = Composed.of(root, canBind, DSL.using(tx), base, ext);
-        val id = b.create(u);
-        Exceptions.CANNOT_BIND_UNBIND.throwIf(() -> !c.link(id));
+        val tc = DSL.using(tx);
+        val id = Default.of(tc, tc, sql, ids, ext).create(u);
+        Exceptions.CANNOT_BIND_UNBIND.throwIf(() -> 1 != tc.execute(
+            s, valOf(fieldOf(l, b), root), valOf(fieldOf(l, e), id)));
         return id;
       });
     }
 
+    /**
+     * Binds both resources in a single statement, which only inserts the
+     * binding when both resources exist and are not bound yet. Resource is
+     * only read beforehand when there is an actual constraint to evaluate.
+     *
+     * @param id Identity from the resource to be bound.
+     * @return If the resources have been bound.
+     */
     @Override
     public boolean link(final @lombok.NonNull UUID id) {
-      val u = Default.of(ctx, ext).get(id).orElseThrow(Exceptions.NOT_FOUND);
-      Exceptions.UNPROCESSABLE_ENTITY.throwIf(() -> !canBind.test(u));
-      val v = Map.of(DSL.field(nameOf(base) + '_' + ID), root,
-                     DSL.field(nameOf(ext) + '_' + ID), id);
-      return 1 == Exceptions.CANNOT_BIND_UNBIND.trapIn(() -> ctx
-          .insertInto(DSL.table(nameOf(base) + '_' + nameOf(ext)), v.keySet())
-          .values(v.values()).execute());
+      val e = ext.table();
+      if (ANY != canBind) {
+        val u = Default.of(ctx, ctx, sql, ids, ext).get(id)
+                       .orElseThrow(Exceptions.NOT_FOUND);
+        Exceptions.UNPROCESSABLE_ENTITY.throwIf(() -> !canBind.test(u));
+      }
+      if (1 == ctx.execute(linkSql(), valOf(keyOf(base.table()), root),
+                           valOf(keyOf(e), id))) {
+        return true;
+      }
+      // Only on failure, to tell a missing resource from a former binding
+      Exceptions.NOT_FOUND
+          .throwIf(() -> !ctx.fetchExists(e, isVal(keyOf(e), id)));
+      return false;
+    }
+
+    /**
+     * Binds several resources at once, in a single transaction and batch.
+     * Resources are read all together beforehand only when there is an actual
+     * constraint to evaluate. Missing, already bound and not allowed ones are
+     * skipped.
+     *
+     * @param keys Identities from the resources to be bound.
+     * @return Identities from the resources actually bound.
+     */
+    @Override
+    public Set<UUID> link(final @lombok.NonNull Set<UUID> keys) {
+      if (ANY == canBind) {
+        return batchOf(linkSql(), List.copyOf(keys));
+      }
+      val found = Default.of(ctx, ctx, sql, ids, ext).get(keys);
+      return batchOf(linkSql(), keys.stream().filter(found::containsKey)
+                                    .filter(k -> canBind.test(found.get(k)))
+                                    .collect(Collectors.toList()));
     }
 
     @Override
     public boolean unlink(final @lombok.NonNull UUID id) {
-      return 1 == Exceptions.CANNOT_BIND_UNBIND.trapIn(() -> ctx
-          .deleteFrom(DSL.table(nameOf(base) + '_' + nameOf(ext)))
-          .where(DSL.field(nameOf(base) + '_' + ID).eq(root))
-          .and(DSL.field(nameOf(ext) + '_' + ID).eq(id)).execute());
+      val l = linkOf(base.table(), ext.table());
+      return 1 == ctx.execute(unlinkSql(),
+                              valOf(fieldOf(l, base.table()), root),
+                              valOf(fieldOf(l, ext.table()), id));
+    }
+
+    @Override
+    public Set<UUID> unlink(final @lombok.NonNull Set<UUID> keys) {
+      return batchOf(unlinkSql(), List.copyOf(keys));
     }
 
     /**
-     * Creates a JOOQ join table reference.
+     * Renders the statement which binds a resource to the root one, only
+     * when both exist and are not bound yet. It is a single atomic statement,
+     * an {@code INSERT ... ON CONFLICT DO NOTHING} on Postgres or a
+     * {@code MERGE} anywhere else, so concurrent bindings of the same pair
+     * neither fail nor duplicate it: only the affected row count tells.
      *
-     * @param base Root domain context reference.
-     * @param ext  Extension domain context reference.
+     * @return SQL to be executed along with root's and resource's identities.
+     */
+    private String linkSql() {
+      val b = base.table();
+      val e = ext.table();
+      val l = linkOf(b, e);
+      val cols = List.of(fieldOf(l, b), fieldOf(l, e));
+      return sql.of(() -> {
+        val pair = ctx.select(keyOf(b).as(fieldOf(l, b).getName()),
+                              keyOf(e).as(fieldOf(l, e).getName()))
+                      .from(b, e).where(isParam(keyOf(b)))
+                      .and(isParam(keyOf(e)));
+        if (SQLDialect.POSTGRES == ctx.family()) {
+          return ctx.insertInto(l).columns(cols).select(pair)
+                    .onConflictDoNothing();
+        }
+        val row = pair.asTable("row");
+        return ctx.mergeInto(l).using(row)
+                  .on(isSame(fieldOf(l, b), row.field(fieldOf(l, b))))
+                  .and(isSame(fieldOf(l, e), row.field(fieldOf(l, e))))
+                  .whenNotMatchedThenInsert(cols)
+                  .values(row.field(fieldOf(l, b)), row.field(fieldOf(l, e)));
+      }, Templates.Kind.LINK, b, e);
+    }
+
+    /**
+     * Renders the statement which unbinds a resource from the root one.
+     *
+     * @return SQL to be executed along with root's and resource's identities.
+     */
+    private String unlinkSql() {
+      val b = base.table();
+      val e = ext.table();
+      val l = linkOf(b, e);
+      return sql.of(() -> ctx.deleteFrom(l).where(isParam(fieldOf(l, b)))
+                             .and(isParam(fieldOf(l, e))),
+                    Templates.Kind.UNLINK, b, e);
+    }
+
+    /**
+     * Executes a (un)binding statement for each provided resource, all in a
+     * single transaction and batch.
+     *
+     * @param s    Statement taking root's and resource's identities.
+     * @param keys Identities from the resources to (un)bind.
+     * @return Identities from the resources actually (un)bound.
+     */
+    private Set<UUID> batchOf(final @lombok.NonNull String s,
+                              final @lombok.NonNull List<UUID> keys) {
+      if (keys.isEmpty()) {
+        return Set.of();
+      }
+      return affectedOf(ctx.transactionResult(tx -> {
+        val b = DSL.using(tx).batch(s);
+        keys.forEach(k -> b.bind(root, k));
+        return b.execute();
+      }), keys);
+    }
+
+    /**
+     * Creates a JOOQ join table reference, from the extension table to the
+     * provided link table.
+     *
+     * @param link Table which references both domain contexts.
      * @return Table reference to be used {@link Mapper} methods.
      */
-    private static Table<Record> joined(final @lombok.NonNull Class<?> base,
-                                        final @lombok.NonNull Class<?> ext) {
-      val join = nameOf(base) + '_' + nameOf(ext);
-      return DSL.table(nameOf(ext)).innerJoin(DSL.table(join))
-                .on(DSL.field(nameOf(ext) + '.' + ID)
-                       .eq(DSL.field(join + '.' + nameOf(ext) + '_' + ID)));
+    private Table<?> joined(final @lombok.NonNull Table<?> link) {
+      return ext.table().join(link)
+                .onKey(link.getReferencesTo(ext.table()).get(0));
+    }
+
+    /**
+     * Retrieves the resources associated with each provided root, joining
+     * through the link table only once for all of them.
+     *
+     * @param ctx   Database context to read with.
+     * @param roots Identities from root domain context's resources.
+     * @param base  Root domain context's table.
+     * @param ext   Associated resource's <i>from/to</i> row conversion.
+     * @param <U>   Resource associated with the roots.
+     * @param <S>   Row which the associated resource is stored as.
+     * @return Associated resources indexed by identity, grouped by their root.
+     */
+    public static <U, S extends Record> Map<UUID, Map<UUID, U>> getFrom(
+        final @lombok.NonNull DSLContext ctx,
+        final @lombok.NonNull Set<UUID> roots,
+        final @lombok.NonNull Table<?> base,
+        final @lombok.NonNull Mapping<U, S> ext) {
+      val found = new LinkedHashMap<UUID, Map<UUID, U>>();
+      roots.forEach(r -> found.put(r, new LinkedHashMap<>()));
+      if (roots.isEmpty()) {
+        return found;
+      }
+      val e = ext.table();
+      val l = linkOf(base, e);
+      val b = fieldOf(l, base);
+      ctx.select(e.fields()).select(b)
+         .from(e.join(l).onKey(l.getReferencesTo(e).get(0)))
+         .where(b.in(roots)).orderBy(keyOf(e))
+         .forEach(r -> found.get(r.get(b, UUID.class))
+                            .put(idOf(e, r), ext.from(r.into(e))));
+      return found;
+    }
+
+    /**
+     * Walks through every association between the provided tables.
+     *
+     * @param ctx  Database context to read with.
+     * @param base Root domain context's table.
+     * @param ext  Extension domain context's table.
+     * @param sink Receives both identities from each association.
+     * @return Amount of associations walked through.
+     */
+    public static long export(
+        final @lombok.NonNull DSLContext ctx,
+        final @lombok.NonNull Table<?> base,
+        final @lombok.NonNull Table<?> ext,
+        final @lombok.NonNull BiConsumer<UUID, UUID> sink) {
+      val l = linkOf(base, ext);
+      val b = fieldOf(l, base);
+      val e = fieldOf(l, ext);
+      return lazily(ctx, c -> c.select(b, e).from(l).orderBy(b, e),
+                    r -> sink.accept(r.get(b, UUID.class),
+                                     r.get(e, UUID.class)));
+    }
+
+    /**
+     * Finds the table which references both provided ones, among the tables
+     * from the same schema.
+     *
+     * @param base Root domain context's table.
+     * @param ext  Extension domain context's table.
+     * @return The link table.
+     */
+    private static Table<?> linkOf(final @lombok.NonNull Table<?> base,
+                                   final @lombok.NonNull Table<?> ext) {
+      return base.getSchema().getTables().stream()
+                 .filter(t -> !t.getReferencesTo(base).isEmpty())
+                 .filter(t -> !t.getReferencesTo(ext).isEmpty())
+                 .findAny().orElseThrow();
+    }
+
+    /**
+     * Provides the link table's column which references the given table.
+     *
+     * @param link Table which references both domain contexts.
+     * @param to   Referenced table.
+     * @return The referencing column.
+     */
+    private static Field<?> fieldOf(final @lombok.NonNull Table<?> link,
+                                    final @lombok.NonNull Table<?> to) {
+      return link.getReferencesTo(to).get(0).getFields().get(0);
     }
   }
 
   /**
-   * Creates an {@code WHERE} set for JOOQ queries.
+   * Spreads resources over several databases, each one owning the resources
+   * whose identity hashes to it. As identities are drawn before storing,
+   * every operation on known identities goes straight to the owning shard.
+   * Criteria-based operations are scattered to every shard in parallel and
+   * gathered back together, each shard committing its own share. Associations
+   * stay on the shard which owns the root resource.
    *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  @lombok.Value(staticConstructor = "of")
+  class Sharded implements Dao {
+
+    /**
+     * Primary database context from each shard.
+     */
+    List<DSLContext> ctx;
+    /**
+     * Picks the database context which each shard's plain reads are sent to.
+     */
+    List<Supplier<DSLContext>> reads;
+    Templates sql;
+    Ids ids;
+    /**
+     * Runs the operations scattered to the shards.
+     */
+    Executor pool;
+
+    /**
+     * Tells the shard which owns the provided identity, out of its random
+     * bits. Every {@link Ids strategy} lays them out in the same place.
+     *
+     * @param id Identity to route.
+     * @return Owning shard's index.
+     */
+    public int shardOf(final @lombok.NonNull UUID id) {
+      return Math.floorMod(id.getLeastSignificantBits(), ctx.size());
+    }
+
+    @Override
+    public <T, R extends Record> Mapper<T, UUID> from(
+        final @lombok.NonNull Mapping<T, R> mapping) {
+      return Routed.of(this, mapping);
+    }
+
+    /**
+     * Loads a mapping handler on the shard which owns the root resource.
+     * Resources are created there with an identity drawn to hash to that very
+     * shard, so they are found by it afterwards. Resources from other shards
+     * cannot be bound.
+     *
+     * @param root    Identity which indexes an entity from the {@link T root
+     *                domain} context.
+     * @param base    Resource's <i>from/to</i> row conversion, which the
+     *                association will be based on.
+     * @param ext     Resource's <i>from/to</i> row conversion.
+     * @param canBind States if the two resources can be bound themselves.
+     * @param <T>     Resource which the association will be based on.
+     * @param <U>     Resource handled by the following operations.
+     * @param <S>     Row which the handled resource is stored as.
+     * @return Instance which operates on the root's shard.
+     */
+    @Override
+    public <T, U, S extends Record> Mapper.Composed<U, UUID> from(
+        final @lombok.NonNull UUID root,
+        final @lombok.NonNull Mapping<T, ?> base,
+        final @lombok.NonNull Mapping<U, S> ext,
+        final @lombok.NonNull Predicate<U> canBind) {
+      val i = shardOf(root);
+      return Composed.of(root, canBind, ctx.get(i), reads.get(i).get(), sql,
+                         () -> Stream.generate(ids).filter(u -> i == shardOf(u))
+                                     .findFirst().orElseThrow(),
+                         base, ext);
+    }
+
+    @Override
+    public <U, S extends Record> Map<UUID, Map<UUID, U>> getFrom(
+        final @lombok.NonNull Set<UUID> roots,
+        final @lombok.NonNull Mapping<?, ?> base,
+        final @lombok.NonNull Mapping<U, S> ext) {
+      val parts = scatter(roots.stream().collect(Collectors.groupingBy(
+          this::shardOf, Collectors.toCollection(LinkedHashSet::new)))
+          .entrySet().stream().map(e -> {
+            val c = reads.get(e.getKey()).get();
+            return (Supplier<Map<UUID, Map<UUID, U>>>)
+                () -> Composed.getFrom(c, e.getValue(), base.table(), ext);
+          }).collect(Collectors.toList()));
+      val found = new LinkedHashMap<UUID, Map<UUID, U>>();
+      parts.forEach(found::putAll);
+      return roots.stream().collect(Collectors.toMap(
+          Function.identity(), found::get, (a, b) -> b, LinkedHashMap::new));
+    }
+
+    @Override
+    public long export(final @lombok.NonNull Mapping<?, ?> base,
+                       final @lombok.NonNull Mapping<?, ?> ext,
+                       final @lombok.NonNull BiConsumer<UUID, UUID> sink) {
+      return reads.stream().map(Supplier::get).collect(Collectors.toList())
+                  .stream().mapToLong(c -> Composed.export(
+              c, base.table(), ext.table(), sink)).sum();
+    }
+
+    /**
+     * Runs the provided calls in parallel, rethrowing the first failure as it
+     * was thrown. Database contexts must be picked before, as reads are picked
+     * based on the calling thread.
+     *
+     * @param calls Calls to run.
+     * @param <V>   Result type.
+     * @return Each call's result, in the same order.
+     */
+    private <V> List<V> scatter(final @lombok.NonNull List<Supplier<V>> calls) {
+      val running = calls.stream().map(c -> CompletableFuture
+          .supplyAsync(c, pool)).collect(Collectors.toList());
+      val gathered = new ArrayList<V>(running.size());
+      for (val r : running) {
+        try {
+          gathered.add(r.join());
+        } catch (final CompletionException e) {
+          throw e.getCause() instanceof RuntimeException
+              ? (RuntimeException) e.getCause() : e;
+        }
+      }
+      return gathered;
+    }
+
+    /**
+     * Routes a resource's operations to the shards which own them.
+     *
+     * @param <T> Resource handled by the implementing operations.
+     * @param <R> Row which the resource is stored as.
+     */
+    @lombok.Value(staticConstructor = "of")
+    private static class Routed<T, R extends Record>
+        implements Mapper<T, UUID> {
+
+      Sharded shards;
+      Mapping<T, R> mapping;
+
+      @Override
+      public Optional<T> get(final @lombok.NonNull UUID id) {
+        return on(shards.shardOf(id)).get(id);
+      }
+
+      @Override
+      public Map<UUID, T> get(final @lombok.NonNull Body<T> criteria,
+                              final @lombok.NonNull Page page) {
+        return gather(page, (d, p) -> d.get(criteria, p),
+                      (t, f) -> mapping.to(t).get(f));
+      }
+
+      @Override
+      public Map<UUID, Map<String, Object>> get(
+          final @lombok.NonNull Body<T> criteria,
+          final @lombok.NonNull Page page,
+          final @lombok.NonNull Set<String> fields) {
+        return gather(page, (d, p) -> d.get(criteria, p, fields),
+                      (r, f) -> r.get(f.getName()));
+      }
+
+      @Override
+      public Map<UUID, T> get(final @lombok.NonNull Set<UUID> keys) {
+        val found = new LinkedHashMap<UUID, T>();
+        routed(keys, Function.identity(), (d, ks) -> d.get(Set.copyOf(ks)))
+            .forEach(found::putAll);
+        return found;
+      }
+
+      @Override
+      public long count(final @lombok.NonNull Body<T> criteria) {
+        return shards.scatter(all(d -> d.count(criteria)))
+                     .stream().mapToLong(Long::longValue).sum();
+      }
+
+      @Override
+      public long estimate(final @lombok.NonNull Body<T> criteria) {
+        return shards.scatter(all(d -> d.estimate(criteria)))
+                     .stream().mapToLong(Long::longValue).sum();
+      }
+
+      @Override
+      public UUID create(final @lombok.NonNull T t) {
+        val id = shards.ids.get();
+        return on(shards.shardOf(id), () -> id).create(t);
+      }
+
+      @Override
+      public List<UUID> create(final @lombok.NonNull List<T> ts) {
+        val drawn = Stream.generate(shards.ids).limit(ts.size())
+                          .collect(Collectors.toUnmodifiableList());
+        spread(drawn, ts, Default::create);
+        return drawn;
+      }
+
+      /**
+       * Stores resources chunk by chunk, each one spread over the shards.
+       *
+       * @param ts Resources to store.
+       * @return Amount of stored resources.
+       */
+      @Override
+      public long load(final @lombok.NonNull Stream<T> ts) {
+        val it = ts.iterator();
+        var loaded = 0L;
+        while (it.hasNext()) {
+          val chunk = new ArrayList<T>(CHUNK);
+          while (chunk.size() < CHUNK && it.hasNext()) {
+            chunk.add(it.next());
+          }
+          val drawn = Stream.generate(shards.ids).limit(chunk.size())
+                            .collect(Collectors.toUnmodifiableList());
+          loaded += spread(drawn, chunk, (d, part) -> d.load(part.stream()))
+              .stream().mapToLong(Long::longValue).sum();
+        }
+        return loaded;
+      }
+
+      @Override
+      public long export(final @lombok.NonNull BiConsumer<UUID, T> sink) {
+        return all().stream().mapToLong(d -> d.export(sink)).sum();
+      }
+
+      @Override
+      public boolean update(final @lombok.NonNull UUID id,
+                            final @lombok.NonNull T t) {
+        return on(shards.shardOf(id)).update(id, t);
+      }
+
+      @Override
+      public Set<UUID> update(final @lombok.NonNull Map<UUID, T> ts) {
+        return inOrderOf(ts.keySet(), routed(
+            ts.entrySet(), Map.Entry::getKey, (d, es) -> d.update(
+                es.stream().collect(Collectors.toMap(
+                    Map.Entry::getKey, Map.Entry::getValue,
+                    (a, b) -> b, LinkedHashMap::new)))));
+      }
+
+      @Override
+      public boolean put(final @lombok.NonNull UUID id,
+                         final @lombok.NonNull T t) {
+        return on(shards.shardOf(id)).put(id, t);
+      }
+
+      @Override
+      public Set<UUID> put(final @lombok.NonNull Map<UUID, T> ts) {
+        return inOrderOf(ts.keySet(), routed(
+            ts.entrySet(), Map.Entry::getKey, (d, es) -> d.put(
+                es.stream().collect(Collectors.toMap(
+                    Map.Entry::getKey, Map.Entry::getValue,
+                    (a, b) -> b, LinkedHashMap::new)))));
+      }
+
+      @Override
+      public boolean delete(final @lombok.NonNull UUID id) {
+        return on(shards.shardOf(id)).delete(id);
+      }
+
+      @Override
+      public Set<UUID> delete(final @lombok.NonNull Set<UUID> keys) {
+        return inOrderOf(keys, routed(keys, Function.identity(),
+                                      (d, ks) -> d.delete(Set.copyOf(ks))));
+      }
+
+      @Override
+      public Set<UUID> delete(final @lombok.NonNull Body<T> criteria) {
+        Exceptions.ILLEGAL_ARGUMENT.throwIf(() -> criteria.toMap().isEmpty());
+        val deleted = new LinkedHashSet<UUID>();
+        shards.scatter(all(d -> d.delete(criteria))).forEach(deleted::addAll);
+        return deleted;
+      }
+
+      private Default<T, R> on(final int shard) {
+        return on(shard, shards.ids);
+      }
+
+      private Default<T, R> on(final int shard,
+                               final @lombok.NonNull Supplier<UUID> ids) {
+        return Default.of(shards.ctx.get(shard), shards.reads.get(shard).get(),
+                          shards.sql, ids, mapping);
+      }
+
+      private List<Default<T, R>> all() {
+        return IntStream.range(0, shards.ctx.size()).mapToObj(this::on)
+                        .collect(Collectors.toList());
+      }
+
+      private <V> List<Supplier<V>> all(
+          final @lombok.NonNull Function<Default<T, R>, V> call) {
+        return all().stream().map(d -> (Supplier<V>) () -> call.apply(d))
+                    .collect(Collectors.toList());
+      }
+
+      /**
+       * Scatters the provided entries, each one to the shard which owns it.
+       *
+       * @param vs   Entries to route.
+       * @param idOf Tells an entry's identity.
+       * @param call Operation on the entries from the same shard.
+       * @param <V>  Entry type.
+       * @param <W>  Result type.
+       * @return Each shard's result.
+       */
+      private <V, W> List<W> routed(
+          final @lombok.NonNull Collection<V> vs,
+          final @lombok.NonNull Function<V, UUID> idOf,
+          final @lombok.NonNull BiFunction<Default<T, R>, List<V>, W> call) {
+        return shards.scatter(vs.stream().collect(Collectors.groupingBy(
+            v -> shards.shardOf(idOf.apply(v)))).entrySet().stream().map(e -> {
+              val d = on(e.getKey());
+              return (Supplier<W>) () -> call.apply(d, e.getValue());
+            }).collect(Collectors.toList()));
+      }
+
+      /**
+       * Scatters new resources, each one to the shard its drawn identity
+       * hashes to. Each shard draws the same identities back, in turn.
+       *
+       * @param drawn Identities drawn for the resources, in the same order.
+       * @param ts    Resources to store.
+       * @param call  Operation on the resources from the same shard.
+       * @param <W>   Result type.
+       * @return Each shard's result.
+       */
+      private <W> List<W> spread(
+          final @lombok.NonNull List<UUID> drawn,
+          final @lombok.NonNull List<T> ts,
+          final @lombok.NonNull BiFunction<Default<T, R>, List<T>, W> call) {
+        return shards.scatter(IntStream.range(0, ts.size()).boxed().collect(
+            Collectors.groupingBy(i -> shards.shardOf(drawn.get(i))))
+            .entrySet().stream().map(e -> {
+              val it = e.getValue().stream().map(drawn::get).iterator();
+              val d = on(e.getKey(), it::next);
+              val part = e.getValue().stream().map(ts::get)
+                          .collect(Collectors.toList());
+              return (Supplier<W>) () -> call.apply(d, part);
+            }).collect(Collectors.toList()));
+      }
+
+      /**
+       * Scatters a page query to every shard, widened so that each shard
+       * returns whatever might land on the requested page, and merges the
+       * results back in the same order each shard sorts by.
+       *
+       * @param page    Page to slice entries by.
+       * @param query   Page query on a single shard.
+       * @param valueOf Reads a column's value from an entry.
+       * @param <V>     Entry type.
+       * @return Entries from the requested page, indexed by identity.
+       */
+      private <V> Map<UUID, V> gather(
+          final @lombok.NonNull Page page,
+          final @lombok.NonNull
+              BiFunction<Default<T, R>, Page, Map<UUID, V>> query,
+          final @lombok.NonNull BiFunction<V, Field<?>, Object> valueOf) {
+        val wide = page.getAfter().map(k -> Page.after(k, page.getLimit()))
+                       .orElseGet(() -> Page.of(0, page.getSkip()
+                           + page.getLimit())).withSort(page.getSort());
+        return shards.scatter(all(d -> query.apply(d, wide))).stream()
+                     .flatMap(m -> m.entrySet().stream())
+                     .sorted(orderingOf(mapping.table(), page, valueOf))
+                     .skip(page.getSkip()).limit(page.getLimit())
+                     .collect(Collectors.toMap(Map.Entry::getKey,
+                                               Map.Entry::getValue,
+                                               (a, b) -> b,
+                                               LinkedHashMap::new));
+      }
+
+      private static Set<UUID> inOrderOf(
+          final @lombok.NonNull Set<UUID> requested,
+          final @lombok.NonNull List<Set<UUID>> affected) {
+        val all = new HashSet<UUID>();
+        affected.forEach(all::addAll);
+        return requested.stream().filter(all::contains)
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+      }
+    }
+  }
+
+  /**
+   * Coalesces concurrent single creations on the same table into a group,
+   * which is committed as one batch in one transaction. A group is flushed
+   * once its window elapses since the first creation joined, or right away
+   * once it is full. Each caller waits for its own identity, or its own
+   * failure: if the batch fails, its creations are retried one by one to tell
+   * which ones are to blame. Any other operation is handed straight over.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  @lombok.Value(staticConstructor = "of")
+  class Grouped implements Dao {
+
+    Dao dao;
+    /**
+     * Time which a group waits for further creations.
+     */
+    Duration window;
+    /**
+     * Most creations committed together.
+     */
+    int rows;
+    /**
+     * Flushes groups whose window has elapsed.
+     */
+    ScheduledExecutorService timer;
+    Map<Table<?>, Group<?>> groups = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, R extends Record> Mapper<T, UUID> from(
+        final @lombok.NonNull Mapping<T, R> mapping) {
+      val group = (Group<T>) groups.computeIfAbsent(
+          mapping.table(), t -> new Group<>(mapping));
+      return Grouping.of(dao.from(mapping), group);
+    }
+
+    @Override
+    public <T, U, S extends Record> Mapper.Composed<U, UUID> from(
+        final @lombok.NonNull UUID root,
+        final @lombok.NonNull Mapping<T, ?> base,
+        final @lombok.NonNull Mapping<U, S> ext,
+        final @lombok.NonNull Predicate<U> canBind) {
+      return dao.from(root, base, ext, canBind);
+    }
+
+    @Override
+    public <U, S extends Record> Map<UUID, Map<UUID, U>> getFrom(
+        final @lombok.NonNull Set<UUID> roots,
+        final @lombok.NonNull Mapping<?, ?> base,
+        final @lombok.NonNull Mapping<U, S> ext) {
+      return dao.getFrom(roots, base, ext);
+    }
+
+    @Override
+    public long export(final @lombok.NonNull Mapping<?, ?> base,
+                       final @lombok.NonNull Mapping<?, ?> ext,
+                       final @lombok.NonNull BiConsumer<UUID, UUID> sink) {
+      return dao.export(base, ext, sink);
+    }
+
+    /**
+     * Creations from the same table waiting to be committed together.
+     *
+     * @param <T> Resource to be created.
+     */
+    @lombok.RequiredArgsConstructor
+    private final class Group<T> {
+
+      private final Mapping<T, ?> mapping;
+      private List<Map.Entry<T, CompletableFuture<UUID>>> pending =
+          new ArrayList<>();
+      private long generation;
+
+      /**
+       * Joins the current group and waits for it to be committed.
+       *
+       * @param t Resource to be created.
+       * @return Created resource's identity.
+       */
+      private UUID create(final @lombok.NonNull T t) {
+        val created = new CompletableFuture<UUID>();
+        List<Map.Entry<T, CompletableFuture<UUID>>> full = null;
+        synchronized (this) {
+          pending.add(Map.entry(t, created));
+          if (rows <= pending.size()) {
+            full = detach();
+          } else if (1 == pending.size()) {
+            val due = generation;
+            timer.schedule(() -> flushIfStill(due), window.toNanos(),
+                           TimeUnit.NANOSECONDS);
+          }
+        }
+        if (null != full) {
+          flush(full);
+        }
+        try {
+          return created.join();
+        } catch (final CompletionException e) {
+          throw e.getCause() instanceof RuntimeException
+              ? (RuntimeException) e.getCause() : e;
+        }
+      }
+
+      private void flushIfStill(final long due) {
+        final List<Map.Entry<T, CompletableFuture<UUID>>> group;
+        synchronized (this) {
+          group = due == generation ? detach() : List.of();
+        }
+        flush(group);
+      }
+
+      private List<Map.Entry<T, CompletableFuture<UUID>>> detach() {
+        val group = pending;
+        pending = new ArrayList<>();
+        generation++;
+        return group;
+      }
+
+      private void flush(
+          final @lombok.NonNull List<Map.Entry<T, CompletableFuture<UUID>>> g) {
+        if (g.isEmpty()) {
+          return;
+        }
+        val m = dao.from(mapping);
+        try {
+          val ids = m.create(g.stream().map(Map.Entry::getKey)
+                              .collect(Collectors.toList()));
+          for (var i = 0; i < g.size(); i++) {
+            g.get(i).getValue().complete(ids.get(i));
+          }
+        } catch (final RuntimeException e) {
+          for (val c : g) {
+            try {
+              c.getValue().complete(m.create(c.getKey()));
+            } catch (final RuntimeException ex) {
+              c.getValue().completeExceptionally(ex);
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Sends single creations through their table's group.
+     *
+     * @param <T> Resource handled by the implementing operations.
+     */
+    @lombok.Value(staticConstructor = "of")
+    private static class Grouping<T> implements Mapper<T, UUID> {
+
+      Mapper<T, UUID> mapper;
+      Group<T> group;
+
+      @Override
+      public Optional<T> get(final @lombok.NonNull UUID id) {
+        return mapper.get(id);
+      }
+
+      @Override
+      public Map<UUID, T> get(final @lombok.NonNull Body<T> criteria,
+                              final @lombok.NonNull Page page) {
+        return mapper.get(criteria, page);
+      }
+
+      @Override
+      public Map<UUID, Map<String, Object>> get(
+          final @lombok.NonNull Body<T> criteria,
+          final @lombok.NonNull Page page,
+          final @lombok.NonNull Set<String> fields) {
+        return mapper.get(criteria, page, fields);
+      }
+
+      @Override
+      public Map<UUID, T> get(final @lombok.NonNull Set<UUID> keys) {
+        return mapper.get(keys);
+      }
+
+      @Override
+      public long count(final @lombok.NonNull Body<T> criteria) {
+        return mapper.count(criteria);
+      }
+
+      @Override
+      public long estimate(final @lombok.NonNull Body<T> criteria) {
+        return mapper.estimate(criteria);
+      }
+
+      @Override
+      public UUID create(final @lombok.NonNull T t) {
+        return group.create(t);
+      }
+
+      @Override
+      public List<UUID> create(final @lombok.NonNull List<T> ts) {
+        return mapper.create(ts);
+      }
+
+      @Override
+      public long load(final @lombok.NonNull Stream<T> ts) {
+        return mapper.load(ts);
+      }
+
+      @Override
+      public long export(final @lombok.NonNull BiConsumer<UUID, T> sink) {
+        return mapper.export(sink);
+      }
+
+      @Override
+      public boolean update(final @lombok.NonNull UUID id,
+                            final @lombok.NonNull T t) {
+        return mapper.update(id, t);
+      }
+
+      @Override
+      public Set<UUID> update(final @lombok.NonNull Map<UUID, T> ts) {
+        return mapper.update(ts);
+      }
+
+      @Override
+      public boolean put(final @lombok.NonNull UUID id,
+                         final @lombok.NonNull T t) {
+        return mapper.put(id, t);
+      }
+
+      @Override
+      public Set<UUID> put(final @lombok.NonNull Map<UUID, T> ts) {
+        return mapper.put(ts);
+      }
+
+      @Override
+      public boolean delete(final @lombok.NonNull UUID id) {
+        return mapper.delete(id);
+      }
+
+      @Override
+      public Set<UUID> delete(final @lombok.NonNull Set<UUID> keys) {
+        return mapper.delete(keys);
+      }
+
+      @Override
+      public Set<UUID> delete(final @lombok.NonNull Body<T> criteria) {
+        return mapper.delete(criteria);
+      }
+    }
+  }
+
+  /**
+   * Walks through a query's rows with a lazy cursor, in a read-only
+   * transaction, fetching {@link #CHUNK} rows per round trip. Rows are handed
+   * over one by one, so they are never held all together.
+   *
+   * @param ctx   Database context to read with.
+   * @param query Query to walk through, created from the transaction's own
+   *              context.
+   * @param each  Receives each row.
+   * @param <R>   Row type.
+   * @return Amount of rows walked through.
+   */
+  private static <R extends Record> long lazily(
+      final @lombok.NonNull DSLContext ctx,
+      final @lombok.NonNull Function<DSLContext, ResultQuery<R>> query,
+      final @lombok.NonNull Consumer<R> each) {
+    return ctx.connectionResult(c -> {
+      // Postgres only honours the fetch size within a transaction
+      c.setAutoCommit(false);
+      c.setReadOnly(true);
+      try (val cursor = query.apply(DSL.using(c, ctx.dialect(), ctx.settings()))
+                             .fetchSize(CHUNK).fetchLazy()) {
+        var n = 0L;
+        for (val r : cursor) {
+          each.accept(r);
+          n++;
+        }
+        c.commit();
+        return n;
+      } catch (final RuntimeException e) {
+        c.rollback();
+        throw e;
+      }
+    });
+  }
+
+  /**
+   * Creates an {@code WHERE} set for JOOQ queries. Each criterion value is
+   * parsed as a {@link Filter}.
+   *
+   * @param table    Table which criteria attributes belong to.
    * @param criteria Body to be parsed on.
    * @return Required parameters to be added on.
    */
-  private static Collection<Condition> criteriaOf(
+  private static List<Condition> criteriaOf(
+      final @lombok.NonNull Table<?> table,
       final @lombok.NonNull Body<?> criteria) {
-    return criteria.toMap().entrySet().stream().map(e -> DSL.condition(
-        Operator.AND, DSL.field(DSL.name(e.getKey())).eq(e.getValue())))
-                   .collect(Collectors.toSet());
+    return criteria.toMap().entrySet().stream()
+                   .map(e -> conditionOf(fieldOf(table, e.getKey()),
+                                         Filter.of(e.getValue())))
+                   .collect(Collectors.toList());
+  }
+
+  /**
+   * Creates a condition which matches a field by the provided filter, bound
+   * to values converted to the field's type. Prefixes are matched with a
+   * {@code LIKE} pattern anchored at the start, so it can be served by an
+   * index.
+   *
+   * @param f      Field to match.
+   * @param filter Filter to match the field by.
+   * @param <V>    Field type.
+   * @return Condition to be added on.
+   */
+  private static <V> Condition conditionOf(
+      final @lombok.NonNull Field<V> f,
+      final @lombok.NonNull Filter filter) {
+    val vs = filter.getValues();
+    if (Filter.Operator.RANGE == filter.getOperator()) {
+      return DSL.and(
+          vs.get(0).isEmpty() ? DSL.noCondition() : f.ge(valOf(f, vs.get(0))),
+          vs.get(1).isEmpty() ? DSL.noCondition() : f.le(valOf(f, vs.get(1))));
+    }
+    if (Filter.Operator.ANY_OF == filter.getOperator()) {
+      return f.in(vs.stream().map(v -> valOf(f, v))
+                    .collect(Collectors.toList()));
+    }
+    if (Filter.Operator.PREFIX == filter.getOperator()) {
+      Exceptions.ILLEGAL_ARGUMENT.throwIf(() -> String.class != f.getType());
+      val escaped = vs.get(0).replace("!", "!!").replace("%", "!%")
+                      .replace("_", "!_");
+      return f.like(escaped + "%", '!');
+    }
+    return isVal(f, vs.get(0));
+  }
+
+  /**
+   * Creates a {@code SELECT} list narrowed down to the provided attributes.
+   * Identity and sorting attributes are always selected, as entries are
+   * indexed and sought by them.
+   *
+   * @param table  Table which the attributes belong to.
+   * @param page   Page which the entries are sliced by.
+   * @param fields Attributes to select, in the form they are serialized to.
+   * @return Columns to be selected.
+   */
+  private static List<Field<?>> projectionOf(
+      final @lombok.NonNull Table<?> table,
+      final @lombok.NonNull Page page,
+      final @lombok.NonNull Set<String> fields) {
+    val named = Stream.concat(page.getSort().stream().map(Page.Sort::getName),
+                              fields.stream()).map(n -> fieldOf(table, n));
+    return Stream.concat(Stream.of(keyOf(table)), named).distinct()
+                 .collect(Collectors.toList());
+  }
+
+  /**
+   * Provides a projected row's attributes, apart from its identity.
+   *
+   * @param table Table which the row comes from.
+   * @param r     Projected row.
+   * @return Values indexed by the name their attribute is serialized to.
+   */
+  private static Map<String, Object> rowOf(
+      final @lombok.NonNull Table<?> table,
+      final @lombok.NonNull Record r) {
+    val row = new LinkedHashMap<String, Object>();
+    Arrays.stream(r.fields()).filter(f -> !keyOf(table).equals(f))
+          .forEach(f -> row.put(f.getName(), r.get(f)));
+    return row;
+  }
+
+  /**
+   * Creates an {@code ORDER BY} set for JOOQ queries. Identity comes last as a
+   * tie-breaker, so entries keep a total order. Absent values are taken as
+   * greater than any other, as Postgres does by default, and spelled out for
+   * every other database to agree. Text is sorted by code point, as
+   * {@link #orderingOf} does.
+   *
+   * @param d     Database which the query is rendered for.
+   * @param table Table which sorting attributes belong to.
+   * @param page  Page to be parsed on.
+   * @return Sorting fields to be added on.
+   */
+  private static List<SortField<?>> orderOf(
+      final @lombok.NonNull SQLDialect d,
+      final @lombok.NonNull Table<?> table,
+      final @lombok.NonNull Page page) {
+    val id = keyOf(table);
+    return Stream.concat(page.getSort().stream().map(s -> {
+      val f = sortedOf(d, table, s.getName());
+      return s.isDescending() ? f.desc().nullsFirst() : f.asc().nullsLast();
+    }), Stream.of(page.isDescending() ? id.desc() : id.asc()))
+                 .collect(Collectors.toList());
+  }
+
+  /**
+   * Creates a seek predicate for keyset-based pages, equivalent to
+   * {@code (sort_key, ID) > (?, ?)} under the order set by
+   * {@link #orderOf(SQLDialect, Table, Page)}. It is expanded column by
+   * column, since a row comparison against an absent value is never true.
+   * Key values are bound by each column's type.
+   *
+   * @param d     Database which the query is rendered for.
+   * @param table Table which sorting attributes belong to.
+   * @param page  Page to be parsed on.
+   * @return Entries after the page's seek key, or no restriction at all.
+   */
+  private static Condition seekOf(final @lombok.NonNull SQLDialect d,
+                                  final @lombok.NonNull Table<?> table,
+                                  final @lombok.NonNull Page page) {
+    val sort = page.getSort();
+    return page.getAfter().map(k -> {
+      Exceptions.ILLEGAL_ARGUMENT.throwIf(() -> k.size() != sort.size() + 1);
+      var c = afterOf(keyOf(table), k.get(sort.size()), page.isDescending());
+      for (var i = sort.size() - 1; i >= 0; i--) {
+        val f = sortedOf(d, table, sort.get(i).getName());
+        c = afterOf(f, k.get(i), sort.get(i).isDescending())
+            .or(sameOf(f, k.get(i)).and(c));
+      }
+      return c;
+    }).orElseGet(DSL::noCondition);
+  }
+
+  /**
+   * Provides a column to sort by. Text is compared under Postgres' binary
+   * {@code "C"} collation rather than the database's locale, so it follows
+   * code point order there as it does on HSQLDB's default collation. The
+   * collation is written as plain SQL, so its name keeps its case whatever
+   * case names are rendered in.
+   *
+   * @param d     Database which the query is rendered for.
+   * @param table Table which the column belongs to.
+   * @param name  Attribute name.
+   * @return The column, collated when needed.
+   */
+  @SuppressWarnings("unchecked")
+  private static Field<?> sortedOf(final @lombok.NonNull SQLDialect d,
+                                   final @lombok.NonNull Table<?> table,
+                                   final @lombok.NonNull String name) {
+    val f = fieldOf(table, name);
+    return SQLDialect.POSTGRES == d && String.class == f.getType()
+        ? DSL.field("{0} COLLATE \"C\"", (DataType<String>) f.getDataType(), f)
+        : f;
+  }
+
+  /**
+   * Tells whether a column's value comes after the provided one, absent
+   * values being greater than any other.
+   *
+   * @param f          The column.
+   * @param v          Value to come after, which may be absent.
+   * @param descending If the column is sorted in descending order.
+   * @param <V>        Column's type.
+   * @return Condition for the column's value to come strictly after.
+   */
+  private static <V> Condition afterOf(final @lombok.NonNull Field<V> f,
+                                       final Object v,
+                                       final boolean descending) {
+    if (null == v) {
+      return descending ? f.isNotNull() : DSL.falseCondition();
+    }
+    return descending ? f.lt(valOf(f, v)) : f.gt(valOf(f, v)).or(f.isNull());
+  }
+
+  private static <V> Condition sameOf(final @lombok.NonNull Field<V> f,
+                                      final Object v) {
+    return null == v ? f.isNull() : isVal(f, v);
+  }
+
+  /**
+   * Provides a table's column by the name the resource attribute is
+   * serialized to.
+   *
+   * @param table Table which the column belongs to.
+   * @param name  Attribute name.
+   * @return The typed column.
+   */
+  private static Field<?> fieldOf(final @lombok.NonNull Table<?> table,
+                                  final @lombok.NonNull String name) {
+    return Optional.ofNullable(table.field(name))
+                   .orElseThrow(Exceptions.ILLEGAL_ARGUMENT);
+  }
+
+  /**
+   * Provides a table's identity column, which is its primary key.
+   *
+   * @param table Table which the identity belongs to.
+   * @return The identity column.
+   */
+  private static Field<?> keyOf(final @lombok.NonNull Table<?> table) {
+    return table.getPrimaryKey().getFields().get(0);
   }
 
   /**
-   * Standard way for tables and fields' names.
+   * Provides a table's columns, identity being the last one.
    *
-   * @param ref Resource reference.
-   * @return Standard name.
+   * @param table Table which the columns belong to.
+   * @return The columns.
    */
-  private static String nameOf(final @lombok.NonNull Class<?> ref) {
-    return ref.getSimpleName().toUpperCase();
+  private static Field<?>[] columnsOf(final @lombok.NonNull Table<?> table) {
+    val key = keyOf(table);
+    return Stream.concat(Stream.of(table.fields()).filter(f -> !key.equals(f)),
+                         Stream.of(key)).toArray(Field<?>[]::new);
+  }
+
+  /**
+   * Reads the identity from a fetched row.
+   *
+   * @param table Table which the row belongs to.
+   * @param r     Row which holds the identity column.
+   * @return The identity.
+   */
+  private static UUID idOf(final @lombok.NonNull Table<?> table,
+                           final @lombok.NonNull Record r) {
+    return r.get(keyOf(table), UUID.class);
+  }
+
+  /**
+   * Creates a bind value typed by the provided column.
+   *
+   * @param f   Column which the value is bound to.
+   * @param v   Value to bind.
+   * @param <V> Column's type.
+   * @return The typed bind value.
+   */
+  private static <V> Param<V> valOf(final @lombok.NonNull Field<V> f,
+                                    final Object v) {
+    return DSL.val(v, f);
+  }
+
+  private static <V> Condition isVal(final @lombok.NonNull Field<V> f,
+                                     final Object v) {
+    return f.eq(valOf(f, v));
+  }
+
+  private static <V> Condition isParam(final @lombok.NonNull Field<V> f) {
+    return f.eq(DSL.param(f));
+  }
+
+  /**
+   * Creates a comparator which sorts entries the same way {@link #orderOf}
+   * sorts rows: absent values are the greatest, and text follows code point
+   * order. Identities are compared by their canonical form, which follows the
+   * same byte order as the database's.
+   *
+   * @param table   Table which sorting attributes belong to.
+   * @param page    Page to be parsed on.
+   * @param valueOf Reads a column's value from an entry.
+   * @param <V>     Entry type.
+   * @return Comparator on entries indexed by identity.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static <V> Comparator<Map.Entry<UUID, V>> orderingOf(
+      final @lombok.NonNull Table<?> table,
+      final @lombok.NonNull Page page,
+      final @lombok.NonNull BiFunction<V, Field<?>, Object> valueOf) {
+    final Comparator<Map.Entry<UUID, V>> id = Comparator
+        .comparing(e -> e.getKey().toString());
+    final Comparator<Object> natural = (a, b) -> a instanceof String
+        ? Arrays.compare(((String) a).codePoints().toArray(),
+                         ((String) b).codePoints().toArray())
+        : ((Comparable) a).compareTo(b);
+    return Stream.concat(page.getSort().stream().map(s -> {
+      val f = fieldOf(table, s.getName());
+      final Comparator<Map.Entry<UUID, V>> c = Comparator.comparing(
+          e -> valueOf.apply(e.getValue(), f), Comparator.nullsLast(natural));
+      return s.isDescending() ? c.reversed() : c;
+    }), Stream.of(page.isDescending() ? id.reversed() : id))
+                 .reduce(Comparator::thenComparing).orElseThrow();
+  }
+
+  /**
+   * Picks the keys whose batched statement has affected any row.
+   *
+   * @param r    Affected rows per statement, as returned by a batch.
+   * @param keys Keys the statements were bound with, in the same order.
+   * @param <K>  Key type.
+   * @return Keys from the statements which affected any row.
+   */
+  private static <K> Set<K> affectedOf(final int[] r,
+                                       final @lombok.NonNull List<K> keys) {
+    return IntStream.range(0, r.length)
+                    .filter(i -> 0 < r[i] || Statement.SUCCESS_NO_INFO == r[i])
+                    .mapToObj(keys::get)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private static Condition isSame(final @lombok.NonNull Field<?> f,
+                                  final @lombok.NonNull Field<?> g) {
+    return f.coerce(UUID.class).eq(g.coerce(UUID.class));
   }
 }
@@ -1,10 +1,34 @@
 package template.base.contract;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
 import io.javalin.http.Context;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 import template.base.Body;
+import template.base.Exceptions;
+import template.base.Page;
+import template.base.contract.Controller.Aggregate;
 
 /**
  * Application's query parameter parser.
@@ -13,7 +37,9 @@ import template.base.Body;
  */
 enum Params {
   /**
-   * Filter query.
+   * Filter query, as comma-separated {@code k=v} pairs. Values are parsed
+   * as {@link template.base.Filter} operators, so a comma within a value is
+   * written escaped, as {@code \,}.
    */
   FQ,
   /**
@@ -24,15 +50,61 @@ enum Params {
    * Entries up to limit to.
    */
   LIMIT,
+  /**
+   * Opaque continuation token, as provided by {@link #NEXT} header from the
+   * previous page.
+   */
+  CURSOR,
+  /**
+   * Comma-separated attributes to sort by. Each one can be prefixed with
+   * {@code -} for descending order.
+   */
+  SORT,
+  /**
+   * Comma-separated identities to retrieve at once.
+   */
+  IDS,
+  /**
+   * Comma-separated aggregated domain contexts whose resources should be
+   * embedded on each entry.
+   */
+  INCLUDE,
+  /**
+   * Comma-separated attributes to narrow each entry down to.
+   */
+  FIELDS,
+  /**
+   * Whether to expose how many entries match the filter query, either
+   * {@link #EXACT} or {@link #ESTIMATED}.
+   */
+  COUNT,
   ;
   private static final String EMPTY = "{}";
+  private static final Pattern COMMA = Pattern.compile(",");
+  private static final char SEPARATOR = ',';
+  private static final char ESCAPE = '\\';
+  private static final TypeToken<List<String>> KEY = new TypeToken<>() {
+  };
   static final String MSG = "Skip parameter is higher than limit parameter.";
+  static final String ID = "id";
   static final String ROOT_ID = "root";
+  static final String NEXT = "X-Next-Cursor";
+  static final String TOTAL = "X-Total-Count";
+  static final String ESTIMATE = "X-Estimated-Count";
+  static final String EXACT = "exact";
+  static final String ESTIMATED = "estimated";
+  static final String IMPORTED = "imported";
+  static final String REJECTED = "rejected";
+  static final String MALFORMED = "Malformed line.";
+  static final String NDJSON = "application/x-ndjson";
+  static final String GZIP = "gzip";
   static final Gson MAPPER = new Gson();
 
   /**
    * Extracts a query parameter from {@link Context} and parses it. It should
-   * correspond to a comma-separated {@code k=v} pattern string.
+   * correspond to a comma-separated {@code k=v} pattern string. Values are
+   * taken as they are written, so that they can escape
+   * {@link template.base.Filter} operators with backslashes.
    *
    * @param ctx Application's context.
    * @param ref Type to parse to.
@@ -41,7 +113,7 @@ enum Params {
    */
   <T> Body<T> bodyFrom(final @lombok.NonNull Context ctx,
                        final @lombok.NonNull Class<T> ref) {
-    return Body.of(valFrom(ctx, s -> "{" + s + "}").orElse(EMPTY), ref);
+    return Body.of(valFrom(ctx, Params::jsonOf).orElse(EMPTY), ref);
   }
 
   /**
@@ -56,4 +128,317 @@ enum Params {
                           final @lombok.NonNull Function<String, T> fun) {
     return Optional.ofNullable(ctx.queryParam(name().toLowerCase())).map(fun);
   }
+
+  /**
+   * Extracts paging query parameters from {@link Context}. A {@link #CURSOR}
+   * takes the place of {@link #SKIP}, so both cannot be sent together. It also
+   * requires the same {@link #SORT} the token was issued for, in any mix of
+   * directions.
+   *
+   * @param ctx Application's context.
+   * @param ref Type which sorting attributes must belong to.
+   * @return Page to slice the resource set by.
+   */
+  static Page pageFrom(final @lombok.NonNull Context ctx,
+                       final @lombok.NonNull Class<?> ref) {
+    final int skip = SKIP.valFrom(ctx, Integer::parseInt)
+                         .filter(i -> i > 0).orElse(0);
+    final int limit = LIMIT.valFrom(ctx, Integer::parseInt)
+                           .filter(i -> i > 0).orElse(30);
+    Exceptions.ILLEGAL_ARGUMENT.throwIf(MSG, () -> skip > limit);
+    final var sort = SORT.valFrom(ctx, s -> COMMA.splitAsStream(s).map(a -> {
+      final var desc = a.startsWith("-");
+      return Body.nameOf(ref, desc ? a.substring(1) : a)
+                 .map(n -> Page.Sort.of(n, desc))
+                 .orElseThrow(Exceptions.ILLEGAL_ARGUMENT);
+    }).collect(Collectors.toUnmodifiableList())).orElseGet(List::of);
+    final var key = CURSOR.valFrom(ctx, Exceptions.ILLEGAL_ARGUMENT
+        .trapIn(Params::keyOf));
+    final var page = key.map(k -> Page.after(k, limit))
+                        .orElseGet(() -> Page.of(skip, limit)).withSort(sort);
+    Exceptions.ILLEGAL_ARGUMENT.throwIf(
+        () -> key.isPresent() && skip > 0,
+        () -> key.filter(k -> k.size() != sort.size() + 1).isPresent());
+    return page;
+  }
+
+  /**
+   * Extracts the {@link #IDS identities} to retrieve at once, in the same
+   * order they were sent, discarding repeated ones.
+   *
+   * @param ctx Application's context.
+   * @return Optionally extracted identities.
+   */
+  static Optional<Set<UUID>> idsFrom(final @lombok.NonNull Context ctx) {
+    return IDS.valFrom(ctx, Exceptions.INVALID_ID.trapIn(
+        s -> COMMA.splitAsStream(s).map(UUID::fromString)
+                  .collect(Collectors.<UUID, Set<UUID>>toCollection(
+                      LinkedHashSet::new))));
+  }
+
+  /**
+   * Extracts the attributes {@link #FIELDS to narrow entries down to}.
+   *
+   * @param ctx Application's context.
+   * @param ref Type which the attributes must belong to.
+   * @return Optionally, each attribute's declared name indexed by the name
+   *     it is serialized to, in the same order they were requested.
+   */
+  static Optional<Map<String, String>> fieldsFrom(
+      final @lombok.NonNull Context ctx,
+      final @lombok.NonNull Class<?> ref) {
+    return FIELDS.valFrom(ctx, s -> COMMA.splitAsStream(s).map(
+        a -> Body.attributeOf(ref, a).orElseThrow(Exceptions.ILLEGAL_ARGUMENT))
+        .collect(Collectors.toMap(a -> Body.nameOf(ref, a).orElseThrow(),
+                                  Function.identity(), (a, b) -> a,
+                                  LinkedHashMap::new)));
+  }
+
+  /**
+   * Narrows projected entries down to the requested attributes, under their
+   * declared names.
+   *
+   * @param found  Projected entries, with values indexed by the name their
+   *               attribute is serialized to.
+   * @param fields Attributes' declared names indexed by their serialized
+   *               ones.
+   * @return Narrowed entries.
+   */
+  static Map<UUID, JsonObject> projectOn(
+      final @lombok.NonNull Map<UUID, Map<String, Object>> found,
+      final @lombok.NonNull Map<String, String> fields) {
+    final var projected = new LinkedHashMap<UUID, JsonObject>();
+    found.forEach((k, v) -> {
+      final var o = new JsonObject();
+      fields.forEach((n, a) -> o.add(a, MAPPER.toJsonTree(v.get(n))));
+      projected.put(k, o);
+    });
+    return projected;
+  }
+
+  /**
+   * Narrows a whole resource down to the requested attributes.
+   *
+   * @param found  Resource to narrow down.
+   * @param fields Attributes' declared names indexed by their serialized
+   *               ones.
+   * @return Narrowed resource.
+   */
+  static JsonObject trimOf(final @lombok.NonNull Object found,
+                           final @lombok.NonNull Map<String, String> fields) {
+    final var whole = MAPPER.toJsonTree(found).getAsJsonObject();
+    final var o = new JsonObject();
+    fields.values().stream().filter(whole::has)
+          .forEach(a -> o.add(a, whole.get(a)));
+    return o;
+  }
+
+  /**
+   * Narrows whole resources down to the requested attributes.
+   *
+   * @param found  Resources to narrow down.
+   * @param fields Attributes' declared names indexed by their serialized
+   *               ones.
+   * @return Narrowed resources.
+   * @see #trimOf(Object, Map)
+   */
+  static Map<UUID, JsonObject> trimOn(
+      final @lombok.NonNull Map<UUID, ?> found,
+      final @lombok.NonNull Map<String, String> fields) {
+    final var trimmed = new LinkedHashMap<UUID, JsonObject>();
+    found.forEach((k, v) -> trimmed.put(k, trimOf(v, fields)));
+    return trimmed;
+  }
+
+  /**
+   * Extracts the aggregates {@link #INCLUDE requested to be embedded}, among
+   * the available ones. Each one is requested by its extension domain
+   * context's name.
+   *
+   * @param ctx        Application's context.
+   * @param aggregates Aggregates available for embedding.
+   * @param <A>        Aggregate type.
+   * @return Requested aggregates, or none if parameter is absent.
+   */
+  static <A extends Aggregate<?, ?>> List<A> includesFrom(
+      final @lombok.NonNull Context ctx,
+      final @lombok.NonNull List<A> aggregates) {
+    return INCLUDE.valFrom(ctx, s -> COMMA.splitAsStream(s).distinct().map(
+        n -> aggregates.stream().filter(a -> nameOf(a).equals(n)).findAny()
+                       .orElseThrow(Exceptions.ILLEGAL_ARGUMENT))
+        .collect(Collectors.toList())).orElseGet(List::of);
+  }
+
+  /**
+   * Embeds each entry's associated resources from the provided aggregates,
+   * all of them retrieved at once per aggregate. Associated resources are
+   * placed under their extension domain context's name.
+   *
+   * @param found      Entries to embed associated resources on.
+   * @param aggregates Aggregates to retrieve associated resources from.
+   * @return Entries with associated resources embedded.
+   */
+  static Map<UUID, JsonObject> embedOn(
+      final @lombok.NonNull Map<UUID, ?> found,
+      final @lombok.NonNull List<? extends Aggregate<?, ?>> aggregates) {
+    final var embedded = new LinkedHashMap<UUID, JsonObject>();
+    found.forEach((k, v) -> embedded.put(k, MAPPER.toJsonTree(v)
+                                                  .getAsJsonObject()));
+    for (final var a : aggregates) {
+      a.getFrom(found.keySet()).forEach(
+          (k, es) -> embedded.get(k).add(nameOf(a), MAPPER.toJsonTree(es)));
+    }
+    return embedded;
+  }
+
+  private static String nameOf(final @lombok.NonNull Aggregate<?, ?> a) {
+    return a.extRef().getSimpleName().toLowerCase();
+  }
+
+  /**
+   * Extracts identities from a request body made of a JSON array.
+   *
+   * @param ctx Application's context.
+   * @return Identities in the same order they were sent, discarding repeated
+   *     ones.
+   */
+  static Set<UUID> idsOf(final @lombok.NonNull Context ctx) {
+    Exceptions.EMPTY_BODY.throwIf(() -> ctx.body().isBlank());
+    final Set<UUID> ids = Exceptions.INVALID_ID.trapIn(
+        () -> MAPPER.fromJson(ctx.body(), TypeToken
+            .getParameterized(LinkedHashSet.class, UUID.class).getType()));
+    Exceptions.EMPTY_BODY.throwIf(ids::isEmpty, () -> ids.contains(null));
+    return ids;
+  }
+
+  /**
+   * Exposes the continuation token for the page that follows the provided
+   * one, through {@link #NEXT} header. It is only sent when the provided page
+   * is full, meaning there might be more entries to seek after. The token
+   * carries the last entry's sorting attributes, followed by its identity.
+   *
+   * @param ctx   Application's context.
+   * @param page  Page which the entries have been retrieved with.
+   * @param found Entries retrieved, in the same order they were sorted by.
+   */
+  static void nextFrom(final @lombok.NonNull Context ctx,
+                       final @lombok.NonNull Page page,
+                       final @lombok.NonNull Map<?, ?> found) {
+    if (found.size() == page.getLimit()) {
+      found.entrySet().stream().reduce((a, b) -> b).map(e -> {
+        final var m = Body.of(e.getValue()).toMap();
+        final var sorted = page.getSort().stream().map(s -> m.get(s.getName()));
+        return Stream.concat(sorted, Stream.of(String.valueOf(e.getKey())))
+                     .collect(Collectors.toList());
+      }).map(Params::tokenOf).ifPresent(s -> ctx.header(NEXT, s));
+    }
+  }
+
+  /**
+   * Exposes how many entries match the filter query, when {@link #COUNT}
+   * requested so. An exact count is sent through {@link #TOTAL} header, and
+   * an estimated one through {@link #ESTIMATE} header. Neither is computed
+   * otherwise.
+   *
+   * @param ctx       Application's context.
+   * @param exact     Counts matching entries exactly.
+   * @param estimated Estimates matching entries.
+   */
+  static void countOn(final @lombok.NonNull Context ctx,
+                      final @lombok.NonNull LongSupplier exact,
+                      final @lombok.NonNull LongSupplier estimated) {
+    final var mode = COUNT.valFrom(ctx, String::toLowerCase);
+    Exceptions.ILLEGAL_ARGUMENT.throwIf(() -> mode.filter(
+        m -> !EXACT.equals(m) && !ESTIMATED.equals(m)).isPresent());
+    mode.ifPresent(m -> {
+      if (EXACT.equals(m)) {
+        ctx.header(TOTAL, String.valueOf(exact.getAsLong()));
+      } else {
+        ctx.header(ESTIMATE, String.valueOf(estimated.getAsLong()));
+      }
+    });
+  }
+
+  /**
+   * Opens the response body for writing NDJSON lines straight to the client,
+   * compressed whenever it accepts {@link #GZIP}. Lines are buffered before
+   * being flushed, so the response is not held in memory as a whole. Unlike a
+   * {@link java.io.PrintWriter}, it does not swallow write failures, so an
+   * export stops as soon as the client goes away.
+   *
+   * @param ctx Application's context.
+   * @return Writer to append lines to, which must be closed afterwards.
+   * @throws IOException if the response body cannot be opened.
+   */
+  static Writer writerFrom(final @lombok.NonNull Context ctx)
+      throws IOException {
+    ctx.contentType(NDJSON);
+    OutputStream out = ctx.res.getOutputStream();
+    if (Optional.ofNullable(ctx.header("Accept-Encoding"))
+                .filter(s -> s.contains(GZIP)).isPresent()) {
+      ctx.header("Content-Encoding", GZIP);
+      out = new GZIPOutputStream(out);
+    }
+    return new BufferedWriter(
+        new OutputStreamWriter(out, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Appends a value as a single NDJSON line. Write failures are rethrown as
+   * they are, so that the ongoing export is aborted and its cursor released.
+   *
+   * @param out   Writer to append to.
+   * @param value Value to serialize.
+   */
+  @lombok.SneakyThrows
+  static void lineTo(final @lombok.NonNull Writer out,
+                     final @lombok.NonNull Object value) {
+    MAPPER.toJson(value, out);
+    out.write('\n');
+  }
+
+  private static List<String> keyOf(final @lombok.NonNull String token) {
+    final var json = Base64.getUrlDecoder().decode(token);
+    return MAPPER.fromJson(new String(json, StandardCharsets.UTF_8),
+                           KEY.getType());
+  }
+
+  private static String jsonOf(final @lombok.NonNull String pairs) {
+    final var o = new JsonObject();
+    pairsOf(pairs).forEach(p -> {
+      final var at = p.indexOf('=');
+      Exceptions.ILLEGAL_ARGUMENT.throwIf(() -> at < 1);
+      o.addProperty(p.substring(0, at).strip(), p.substring(at + 1).strip());
+    });
+    return MAPPER.toJson(o);
+  }
+
+  /**
+   * Splits a filter query on each comma which is not escaped. Escapes are
+   * kept, to be read by {@link template.base.Filter} along with the value.
+   *
+   * @param pairs Filter query.
+   * @return Each {@code k=v} pair, in the same order they were written.
+   */
+  private static List<String> pairsOf(final @lombok.NonNull String pairs) {
+    final var found = new ArrayList<String>();
+    var from = 0;
+    for (var i = 0; i < pairs.length(); i++) {
+      if (ESCAPE == pairs.charAt(i)) {
+        i++;
+      } else if (SEPARATOR == pairs.charAt(i)) {
+        found.add(pairs.substring(from, i));
+        from = i + 1;
+      }
+    }
+    if (from < pairs.length()) {
+      found.add(pairs.substring(from));
+    }
+    return found;
+  }
+
+  private static String tokenOf(final @lombok.NonNull List<String> key) {
+    final var json = MAPPER.toJson(key).getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+  }
 }
@@ -1,10 +1,21 @@
 package template.base.contract;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
@@ -12,6 +23,8 @@ import lombok.val;
 import org.ehcache.Cache;
 import template.base.Body;
 import template.base.Exceptions;
+import template.base.Journal;
+import template.base.Page;
 import template.base.contract.Dao.Mapper;
 import template.base.stereotype.Domain;
 import template.base.stereotype.Referable;
@@ -28,15 +41,44 @@ public interface Repository<D extends Domain<D>, I> {
 
   I create(final @NonNull D d);
 
+  List<I> create(final @NonNull List<D> ds);
+
+  long load(final @NonNull Stream<D> ds);
+
+  long export(final @NonNull BiConsumer<I, D> sink);
+
   Optional<D> get(final @NonNull I id);
 
-  Map<I, D> get(final @NonNull Body<D> criteria,
-                final int skip, final int limit);
+  Map<I, D> get(final @NonNull Body<D> criteria, final @NonNull Page page);
+
+  Map<I, Map<String, Object>> get(final @NonNull Body<D> criteria,
+                                  final @NonNull Page page,
+                                  final @NonNull Set<String> fields);
+
+  Map<I, D> get(final @NonNull Set<I> ids);
+
+  long count(final @NonNull Body<D> criteria);
+
+  long estimate(final @NonNull Body<D> criteria);
 
   boolean update(final @NonNull I id, final @NonNull D d);
 
+  Set<I> update(final @NonNull Map<I, D> ds);
+
+  boolean put(final @NonNull I id, final @NonNull D d);
+
   boolean delete(final @NonNull I id);
 
+  Set<I> delete(final @NonNull Set<I> ids);
+
+  Set<I> delete(final @NonNull Body<D> criteria);
+
+  /**
+   * Stores whatever writes are pending behind, if any. Meant to be called
+   * ahead of operations which reach the database by other means.
+   */
+  void flush();
+
   // ::: Caching :::
 
   /**
@@ -57,45 +99,203 @@ public interface Repository<D extends Domain<D>, I> {
   /**
    * Default {@link Repository} abstraction. Meant to openly extendable.
    *
+   * <p>Single creations, updates and puts can be written behind through a
+   * {@link Journal}: they are acknowledged once on it, and stored by its
+   * flusher afterwards. Single retrievals see them right away, while listings
+   * and counts catch up once they are stored. Any other write stores the
+   * pending ones first, so it is applied after them. Single updates and
+   * deletions are not interleaved, so an update checked against a resource
+   * which is being deleted is not stored behind it.
+   *
    * @param <T> {@link Domain Resource} handled by the implementing operations.
    * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
    */
-  @AllArgsConstructor(access = AccessLevel.PROTECTED)
   abstract class Default<T extends Domain<T>> implements Repository<T, UUID>,
                                                          Cached<T, UUID> {
 
     protected final Dao dao;
-    private final Class<T> ref;
+    private final Dao.Mapping<T, ?> mapping;
+    private final Supplier<UUID> ids;
+    private final Journal<T> journal;
+    private final ReadWriteLock deleting = new ReentrantReadWriteLock();
+
+    protected Default(final @NonNull Dao dao,
+                      final @NonNull Dao.Mapping<T, ?> mapping) {
+      this.dao = dao;
+      this.mapping = mapping;
+      this.ids = null;
+      this.journal = null;
+    }
+
+    /**
+     * Writes single creations and updates behind, if the journal is enabled.
+     *
+     * @param dao     Database operations.
+     * @param mapping Resource's <i>from/to</i> row conversion.
+     * @param c       Journal configuration.
+     */
+    protected Default(final @NonNull Dao dao,
+                      final @NonNull Dao.Mapping<T, ?> mapping,
+                      final @NonNull Journal.Config c) {
+      this.dao = dao;
+      this.mapping = mapping;
+      this.ids = c.getIds();
+      this.journal = c.isEnabled() ? Journal.open(
+          c, mapping.ref(), ts -> dao.from(mapping).put(ts)) : null;
+    }
 
     @Override
     public final Optional<T> get(final @NonNull UUID id) {
-      return dao.from(ref).get(id);
+      return Optional.ofNullable(null == journal ? null : journal.get(id))
+                     .or(() -> dao.from(mapping).get(id));
     }
 
     @Override
     public final Map<UUID, T> get(final @NonNull Body<T> criteria,
-                                  final int skip, final int limit) {
-      return dao.from(ref).get(criteria, skip, limit);
+                                  final @NonNull Page page) {
+      return dao.from(mapping).get(criteria, page);
+    }
+
+    @Override
+    public final Map<UUID, Map<String, Object>> get(
+        final @NonNull Body<T> criteria,
+        final @NonNull Page page,
+        final @NonNull Set<String> fields) {
+      return dao.from(mapping).get(criteria, page, fields);
+    }
+
+    @Override
+    public final Map<UUID, T> get(final @NonNull Set<UUID> ids) {
+      val found = dao.from(mapping).get(ids);
+      if (null == journal) {
+        return found;
+      }
+      val merged = new HashMap<>(found);
+      for (val i : ids) {
+        Optional.ofNullable(journal.get(i)).ifPresent(t -> merged.put(i, t));
+      }
+      return merged;
+    }
+
+    @Override
+    public final long count(final @NonNull Body<T> criteria) {
+      return dao.from(mapping).count(criteria);
+    }
+
+    @Override
+    public final long estimate(final @NonNull Body<T> criteria) {
+      return dao.from(mapping).estimate(criteria);
     }
 
     @Override
     public final UUID create(final @NonNull T t) {
-      return dao.from(ref).create(t);
+      if (null == journal) {
+        return dao.from(mapping).create(t);
+      }
+      val id = ids.get();
+      journal.append(id, t);
+      return id;
+    }
+
+    @Override
+    public final List<UUID> create(final @NonNull List<T> ts) {
+      return flushed().create(ts);
+    }
+
+    @Override
+    public final long load(final @NonNull Stream<T> ts) {
+      return flushed().load(ts);
+    }
+
+    @Override
+    public final long export(final @NonNull BiConsumer<UUID, T> sink) {
+      return flushed().export(sink);
     }
 
     @Override
     public final boolean update(final @NonNull UUID id, final @NonNull T t) {
-      return dao.from(ref).update(id, t);
+      if (null == journal) {
+        return dao.from(mapping).update(id, t);
+      }
+      return locked(deleting.readLock(), () -> {
+        if (get(id).isEmpty()) {
+          return false;
+        }
+        journal.append(id, t);
+        return true;
+      });
+    }
+
+    @Override
+    public final Set<UUID> update(final @NonNull Map<UUID, T> ts) {
+      return flushed().update(ts);
+    }
+
+    @Override
+    public final boolean put(final @NonNull UUID id, final @NonNull T t) {
+      if (null == journal) {
+        return dao.from(mapping).put(id, t);
+      }
+      journal.append(id, t);
+      return true;
     }
 
     @Override
     public final boolean delete(final @NonNull UUID id) {
-      return dao.from(ref).delete(id);
+      return locked(deleting.writeLock(), () -> flushed().delete(id));
+    }
+
+    @Override
+    public final Set<UUID> delete(final @NonNull Set<UUID> ids) {
+      return locked(deleting.writeLock(), () -> flushed().delete(ids));
+    }
+
+    @Override
+    public final Set<UUID> delete(final @NonNull Body<T> criteria) {
+      return locked(deleting.writeLock(), () -> flushed().delete(criteria));
+    }
+
+    @Override
+    public final void flush() {
+      flushed();
     }
 
     @Override
     public Repository<T, UUID> with(final @NonNull CacheManager<T, UUID> c) {
-      return new CachedDelegate<>(c.from(ref), this);
+      return new CachedDelegate<>(c.from(mapping.ref()), this);
+    }
+
+    /**
+     * Stores whatever is pending on the journal, if any, ahead of operations
+     * which are not written behind.
+     *
+     * @return Database operations for the handled resource.
+     */
+    private Dao.Mapper<T, UUID> flushed() {
+      if (null != journal) {
+        journal.flush();
+      }
+      return dao.from(mapping);
+    }
+
+    /**
+     * Runs the provided operation while holding the provided lock. Updates
+     * share the read one, while deletions take the write one, so that no
+     * update is appended between a deletion's flush and its own statement.
+     *
+     * @param l   Lock to hold.
+     * @param op  Operation to run.
+     * @param <R> Operation's result.
+     * @return The operation's result.
+     */
+    private static <R> R locked(final @NonNull Lock l,
+                                final @NonNull Supplier<R> op) {
+      l.lock();
+      try {
+        return op.get();
+      } finally {
+        l.unlock();
+      }
     }
   }
 
@@ -125,12 +325,66 @@ public interface Repository<D extends Domain<D>, I> {
 
     @Override
     public Map<I, D> get(final @NonNull Body<D> criteria,
-                         final int skip, final int limit) {
-      val store = repo.get(criteria, skip, limit);
+                         final @NonNull Page page) {
+      val store = repo.get(criteria, page);
       cache.putAll(store);
       return store;
     }
 
+    /**
+     * Bypasses caching, as projected entries do not hold whole resources.
+     *
+     * @param criteria Attributes to match entries by.
+     * @param page     Page to slice entries by.
+     * @param fields   Attributes to narrow entries down to.
+     * @return Projected entries indexed by identity.
+     */
+    @Override
+    public Map<I, Map<String, Object>> get(final @NonNull Body<D> criteria,
+                                           final @NonNull Page page,
+                                           final @NonNull Set<String> fields) {
+      return repo.get(criteria, page, fields);
+    }
+
+    @Override
+    public Map<I, D> get(final @NonNull Set<I> ids) {
+      val hits = cache.getAll(ids);
+      val misses = ids.stream().filter(i -> null == hits.get(i))
+                      .collect(Collectors.toSet());
+      val fetched = misses.isEmpty() ? Map.<I, D>of() : repo.get(misses);
+      cache.putAll(fetched);
+      val found = new LinkedHashMap<I, D>();
+      for (val i : ids) {
+        val d = null != hits.get(i) ? hits.get(i) : fetched.get(i);
+        if (null != d) {
+          found.put(i, d);
+        }
+      }
+      return found;
+    }
+
+    /**
+     * Bypasses caching, as counts go stale on every write.
+     *
+     * @param criteria Attributes to match entries by.
+     * @return Amount of matching entries.
+     */
+    @Override
+    public long count(final @NonNull Body<D> criteria) {
+      return repo.count(criteria);
+    }
+
+    /**
+     * Bypasses caching, as estimates are already kept by the storage.
+     *
+     * @param criteria Attributes to match entries by.
+     * @return Estimated amount of matching entries.
+     */
+    @Override
+    public long estimate(final @NonNull Body<D> criteria) {
+      return repo.estimate(criteria);
+    }
+
     @Override
     public I create(final @NonNull D d) {
       val id = repo.create(d);
@@ -138,6 +392,41 @@ public interface Repository<D extends Domain<D>, I> {
       return id;
     }
 
+    @Override
+    public List<I> create(final @NonNull List<D> ds) {
+      val ids = repo.create(ds);
+      val created = new HashMap<I, D>();
+      for (var i = 0; i < ids.size(); i++) {
+        created.put(ids.get(i), ds.get(i));
+      }
+      cache.putAll(created);
+      return ids;
+    }
+
+    /**
+     * Bypasses caching, as loaded resources can be way more than what the
+     * cache is meant to hold.
+     *
+     * @param ds Resources to store.
+     * @return Amount of stored resources.
+     */
+    @Override
+    public long load(final @NonNull Stream<D> ds) {
+      return repo.load(ds);
+    }
+
+    /**
+     * Bypasses caching, as exported resources are meant to be read straight
+     * from the storage and only once.
+     *
+     * @param sink Receives each resource along with its identity.
+     * @return Amount of exported resources.
+     */
+    @Override
+    public long export(final @NonNull BiConsumer<I, D> sink) {
+      return repo.export(sink);
+    }
+
     @Override
     public boolean update(final @NonNull I id, final @NonNull D user) {
       val updated = repo.update(id, user);
@@ -147,6 +436,23 @@ public interface Repository<D extends Domain<D>, I> {
       return updated;
     }
 
+    /**
+     * Caches the stored resource as it is, since it becomes the whole resource
+     * whether it was created or replaced.
+     *
+     * @param id Identity to store the resource under.
+     * @param d  The resource.
+     * @return If the resource was stored.
+     */
+    @Override
+    public boolean put(final @NonNull I id, final @NonNull D d) {
+      val stored = repo.put(id, d);
+      if (stored) {
+        cache.put(id, d);
+      }
+      return stored;
+    }
+
     @Override
     public boolean delete(final @NonNull I id) {
       val deleted = repo.delete(id);
@@ -155,6 +461,32 @@ public interface Repository<D extends Domain<D>, I> {
       }
       return deleted;
     }
+
+    @Override
+    public Set<I> update(final @NonNull Map<I, D> ds) {
+      val updated = repo.update(ds);
+      cache.removeAll(updated);
+      return updated;
+    }
+
+    @Override
+    public Set<I> delete(final @NonNull Set<I> ids) {
+      val deleted = repo.delete(ids);
+      cache.removeAll(deleted);
+      return deleted;
+    }
+
+    @Override
+    public Set<I> delete(final @NonNull Body<D> criteria) {
+      val deleted = repo.delete(criteria);
+      cache.removeAll(deleted);
+      return deleted;
+    }
+
+    @Override
+    public void flush() {
+      repo.flush();
+    }
   }
 
   // ::: Composition :::
@@ -184,12 +516,35 @@ public interface Repository<D extends Domain<D>, I> {
      */
     Mapper.Composed<U, I> compose(final @NonNull I root,
                                   final @NonNull Function<T, Predicate<U>> isValid);
+
+    /**
+     * Walks through every association between resources from both domain
+     * contexts, regardless of the root they are based on.
+     *
+     * @param sink Receives both resources' identities from each association.
+     * @return Amount of associations walked through.
+     */
+    long export(final @NonNull BiConsumer<I, I> sink);
+
+    /**
+     * Retrieves the resources associated with each one of several roots at
+     * once.
+     *
+     * @param roots Identities from root {@link T domain context's resources}.
+     * @return Associated resources indexed by identity, grouped by their root.
+     */
+    Map<I, Map<I, U>> getFrom(final @NonNull Set<I> roots);
   }
 
   /**
    * Default {@link Repository} abstraction with {@link Service} composing
    * capabilities. Meant to openly extendable.
    *
+   * <p>Associations are handled straight on the database, so whatever either
+   * domain context's repository holds behind is stored first. Otherwise, a
+   * resource just acknowledged could not be bound, nor be found through its
+   * associations.
+   *
    * @param <T> {@link Domain Resource} which the association will be based on.
    * @param <U> {@link Domain Resource} handled by the following operations.
    * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
@@ -201,16 +556,43 @@ public interface Repository<D extends Domain<D>, I> {
                  Referable<T> {
 
     private final Repository<T, UUID> repo;
+    private final Repository<U, UUID> extRepo;
     private final Dao dao;
-
-    protected abstract Class<U> extRef();
+    private final Dao.Mapping<T, ?> base;
+    private final Dao.Mapping<U, ?> ext;
 
     @Override
     public Mapper.Composed<U, UUID> compose(
         final @NonNull UUID root,
         final @NonNull Function<T, Predicate<U>> isValid) {
       val p = repo.get(root).map(isValid).orElseThrow(Exceptions.NOT_FOUND);
-      return dao.from(root, ref(), extRef(), p);
+      return flushed().from(root, base, ext, p);
+    }
+
+    @Override
+    public long export(final @NonNull BiConsumer<UUID, UUID> sink) {
+      return flushed().export(base, ext, sink);
+    }
+
+    @Override
+    public Map<UUID, Map<UUID, U>> getFrom(final @NonNull Set<UUID> roots) {
+      return flushed().getFrom(roots, base, ext);
+    }
+
+    @Override
+    public final Class<T> ref() {
+      return base.ref();
+    }
+
+    /**
+     * Stores whatever is pending behind on both domain contexts.
+     *
+     * @return Database operations for the associations.
+     */
+    private Dao flushed() {
+      repo.flush();
+      extRepo.flush();
+      return dao;
     }
   }
 }
@@ -19,11 +19,26 @@ public interface Router extends EndpointGroup {
    */
   interface Path<T> extends Referable<T> {
 
+    /**
+     * Name of the path variable which holds a resource's identity.
+     */
+    String ID = "id";
+
     /**
      * Path variable identity that is handled by {@link template.Application
      * current web container}.
      */
-    String PATH_ID = "/:id";
+    String PATH_ID = "/:" + ID;
+
+    /**
+     * Sub-path from a collection which resources are imported on.
+     */
+    String PATH_IMPORT = "/import";
+
+    /**
+     * Sub-path from a collection which resources are exported from.
+     */
+    String PATH_EXPORT = "/export";
 
     /**
      * Provides a standard path based on provided {@link #ref() type reference}.
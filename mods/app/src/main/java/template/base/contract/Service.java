@@ -1,12 +1,17 @@
 package template.base.contract;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import template.base.Body;
 import template.base.Exceptions;
+import template.base.Page;
 import template.base.stereotype.Domain;
 
 /**
@@ -21,15 +26,38 @@ public interface Service<T, I> {
 
   T get(final @NonNull I id);
 
-  Map<I, T> get(final @NonNull Body<T> criteria,
-                final int skip, final int limit);
+  Map<I, T> get(final @NonNull Body<T> criteria, final @NonNull Page page);
+
+  Map<I, Map<String, Object>> get(final @NonNull Body<T> criteria,
+                                  final @NonNull Page page,
+                                  final @NonNull Set<String> fields);
+
+  Map<I, T> get(final @NonNull Set<I> ids);
+
+  long count(final @NonNull Body<T> criteria);
+
+  long estimate(final @NonNull Body<T> criteria);
 
   I create(final @NonNull T t);
 
+  List<I> create(final @NonNull List<T> ts);
+
+  long load(final @NonNull Stream<T> ts);
+
+  long export(final @NonNull BiConsumer<I, T> sink);
+
   boolean update(final @NonNull I id, final @NonNull T t);
 
+  Set<I> update(final @NonNull Map<I, T> ts);
+
+  boolean put(final @NonNull I id, final @NonNull T t);
+
   boolean delete(final @NonNull I id);
 
+  Set<I> delete(final @NonNull Set<I> ids);
+
+  Set<I> delete(final @NonNull Body<T> criteria);
+
   // ::: Cached :::
 
   /**
@@ -52,8 +80,30 @@ public interface Service<T, I> {
 
     @Override
     public Map<I, D> get(final @NonNull Body<D> criteria,
-                         final int skip, final int limit) {
-      return repo.with(cache).get(criteria, skip, limit);
+                         final @NonNull Page page) {
+      return repo.with(cache).get(criteria, page);
+    }
+
+    @Override
+    public Map<I, Map<String, Object>> get(final @NonNull Body<D> criteria,
+                                           final @NonNull Page page,
+                                           final @NonNull Set<String> fields) {
+      return repo.with(cache).get(criteria, page, fields);
+    }
+
+    @Override
+    public Map<I, D> get(final @NonNull Set<I> ids) {
+      return repo.with(cache).get(ids);
+    }
+
+    @Override
+    public long count(final @NonNull Body<D> criteria) {
+      return repo.count(criteria);
+    }
+
+    @Override
+    public long estimate(final @NonNull Body<D> criteria) {
+      return repo.estimate(criteria);
     }
 
     @Override
@@ -61,16 +111,51 @@ public interface Service<T, I> {
       return repo.with(cache).create(user);
     }
 
+    @Override
+    public List<I> create(final @NonNull List<D> ds) {
+      return repo.with(cache).create(ds);
+    }
+
+    @Override
+    public long load(final @NonNull Stream<D> ds) {
+      return repo.with(cache).load(ds);
+    }
+
+    @Override
+    public long export(final @NonNull BiConsumer<I, D> sink) {
+      return repo.with(cache).export(sink);
+    }
+
     @Override
     public boolean update(final @NonNull I id,
                           final @NonNull D user) {
       return repo.with(cache).update(id, user);
     }
 
+    @Override
+    public Set<I> update(final @NonNull Map<I, D> ds) {
+      return repo.with(cache).update(ds);
+    }
+
+    @Override
+    public boolean put(final @NonNull I id, final @NonNull D d) {
+      return repo.with(cache).put(id, d);
+    }
+
     @Override
     public boolean delete(final @NonNull I id) {
       return repo.with(cache).delete(id);
     }
+
+    @Override
+    public Set<I> delete(final @NonNull Set<I> ids) {
+      return repo.with(cache).delete(ids);
+    }
+
+    @Override
+    public Set<I> delete(final @NonNull Body<D> criteria) {
+      return repo.with(cache).delete(criteria);
+    }
   }
 
   // ::: Composition :::
@@ -88,7 +173,12 @@ public interface Service<T, I> {
 
     Map<I, E> getFrom(final @NonNull I root,
                       final @NonNull Body<E> criteria,
-                      final int skip, final int limit);
+                      final @NonNull Page page);
+
+    Map<I, Map<String, Object>> getFrom(final @NonNull I root,
+                                        final @NonNull Body<E> criteria,
+                                        final @NonNull Page page,
+                                        final @NonNull Set<String> fields);
 
     E getFrom(final @NonNull I root, final @NonNull I id);
 
@@ -96,18 +186,27 @@ public interface Service<T, I> {
 
     boolean link(final @NonNull I root, final @NonNull I id);
 
+    Set<I> link(final @NonNull I root, final @NonNull Set<I> ids);
+
     boolean unlink(final @NonNull I root, final @NonNull I id);
 
+    Set<I> unlink(final @NonNull I root, final @NonNull Set<I> ids);
+
+    long export(final @NonNull BiConsumer<I, I> sink);
+
+    Map<I, Map<I, E>> getFrom(final @NonNull Set<I> roots);
+
     /**
      * Verifies availability for binding resources from two distinct
      * {@link Domain domain contexts}, by evaluating potential state
-     * inconsistencies from both.
+     * inconsistencies from both. Any resource is allowed by default, which
+     * spares binding operations from reading it beforehand.
      *
      * @param toBind To input the resource handled by base operations.
      * @return Predicate to apply on extension operations' handled resource.
      */
     default Predicate<E> isValidToBind(final @NonNull D toBind) {
-      return e -> Boolean.TRUE;
+      return Dao.Composed.any();
     }
   }
 
@@ -130,8 +229,18 @@ public interface Service<T, I> {
     @Override
     public Map<I, E> getFrom(final @NonNull I root,
                              final @NonNull Body<E> criteria,
-                             final int s, final int l) {
-      return base.compose(root, this::isValidToBind).get(criteria, s, l);
+                             final @NonNull Page page) {
+      return base.compose(root, this::isValidToBind).get(criteria, page);
+    }
+
+    @Override
+    public Map<I, Map<String, Object>> getFrom(
+        final @NonNull I root,
+        final @NonNull Body<E> criteria,
+        final @NonNull Page page,
+        final @NonNull Set<String> fields) {
+      return base.compose(root, this::isValidToBind)
+                 .get(criteria, page, fields);
     }
 
     @Override
@@ -150,9 +259,29 @@ public interface Service<T, I> {
       return base.compose(root, this::isValidToBind).link(id);
     }
 
+    @Override
+    public Set<I> link(final @NonNull I root, final @NonNull Set<I> ids) {
+      return base.compose(root, this::isValidToBind).link(ids);
+    }
+
     @Override
     public boolean unlink(final @NonNull I root, final @NonNull I id) {
       return base.compose(root, this::isValidToBind).unlink(id);
     }
+
+    @Override
+    public Set<I> unlink(final @NonNull I root, final @NonNull Set<I> ids) {
+      return base.compose(root, this::isValidToBind).unlink(ids);
+    }
+
+    @Override
+    public long export(final @NonNull BiConsumer<I, I> sink) {
+      return base.export(sink);
+    }
+
+    @Override
+    public Map<I, Map<I, E>> getFrom(final @NonNull Set<I> roots) {
+      return base.getFrom(roots);
+    }
   }
 }
@@ -1,11 +1,18 @@
 package template.core;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import lombok.val;
 import org.slf4j.LoggerFactory;
 import template.Application;
 import template.Application.Feat;
 import template.Application.Mode;
 import template.base.Exceptions;
+import template.base.Journal;
+import template.base.contract.Dao;
 
 /**
  * Application's bootstrap.
@@ -14,6 +21,11 @@ import template.base.Exceptions;
  */
 public interface Bootstrap {
 
+  /**
+   * Separates multi-valued properties.
+   */
+  Pattern COMMA = Pattern.compile(",");
+
   /**
    * Parses provided arguments and initiates application0s modules.
    *
@@ -34,10 +46,38 @@ public interface Bootstrap {
                                 .url(props.get(Props.DB_URL))
                                 .user(props.get(Props.DB_USER))
                                 .pwd(props.get(Props.DB_PWD))
+                                .ids(Dao.Ids.valueOf(
+                                    props.get(Props.DB_IDS).toUpperCase()))
+                                .replicas(urlsOf(props.get(Props.DB_REPLICAS)))
+                                .shards(urlsOf(props.get(Props.DB_SHARDS)))
+                                .group(Duration.ofMillis(Long.parseLong(
+                                    props.get(Props.DB_GROUP))))
+                                .groupRows(Integer.parseInt(
+                                    props.get(Props.DB_GROUP_ROWS)))
+                                .pinned(Duration.ofMillis(Long.parseLong(
+                                    props.get(Props.DB_PINNED))))
                                 .build();
     val dao = DaggerPersistence.builder().part1(m).part2(cfg).build().get();
-    val router = DaggerRoutes.builder().part1(m).part2(feats).part3(dao);
+    val journal = Journal.Config.builder()
+                             .dir(props.get(Props.DB_JOURNAL))
+                             .flush(Duration.ofMillis(Long.parseLong(
+                                 props.get(Props.DB_JOURNAL_FLUSH))))
+                             .ids(cfg.getIds())
+                             .build();
+    val router = DaggerRoutes.builder().part1(m).part2(feats).part3(dao)
+                             .part4(journal);
     val server = DaggerWeb.builder().part1(m).dep1(router).build().get();
     return server.start(port);
   }
+
+  /**
+   * Parses comma-separated URLs, discarding blank ones.
+   *
+   * @param urls Property value.
+   * @return Parsed URLs.
+   */
+  private static List<String> urlsOf(final @lombok.NonNull String urls) {
+    return Arrays.stream(COMMA.split(urls)).filter(s -> !s.isBlank())
+                 .collect(Collectors.toUnmodifiableList());
+  }
 }
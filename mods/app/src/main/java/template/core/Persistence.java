@@ -4,14 +4,29 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Target;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.val;
+import org.jooq.DSLContext;
+import org.jooq.Record;
 import org.jooq.SQLDialect;
+import org.jooq.conf.QueryPoolable;
+import org.jooq.conf.RenderNameCase;
+import org.jooq.conf.Settings;
 import org.jooq.impl.DSL;
 import template.Application;
 import template.Application.Mode;
@@ -66,6 +81,97 @@ interface Persistence extends Supplier<Dao> {
      * Database password, if any.
      */
     @lombok.NonNull String pwd;
+    /**
+     * Identity generation strategy for newly created resources.
+     */
+    @lombok.NonNull
+    @lombok.Builder.Default
+    Dao.Ids ids = Dao.Ids.TIME_ORDERED;
+    /**
+     * Replica URLs which reads are spread over, if any.
+     */
+    @lombok.NonNull
+    @lombok.Builder.Default
+    List<String> replicas = List.of();
+    /**
+     * Time during which a client's reads stay on the primary after it writes.
+     */
+    @lombok.NonNull
+    @lombok.Builder.Default
+    Duration pinned = Duration.ofSeconds(1);
+    /**
+     * URLs from further shards, which resources are spread over along with
+     * the primary one, if any.
+     */
+    @lombok.NonNull
+    @lombok.Builder.Default
+    List<String> shards = List.of();
+    /**
+     * Time which concurrent single creations wait for each other, to be
+     * committed together. Each one is committed on its own if zero.
+     */
+    @lombok.NonNull
+    @lombok.Builder.Default
+    Duration group = Duration.ZERO;
+    /**
+     * Most single creations committed together.
+     */
+    @lombok.Builder.Default
+    int groupRows = 100;
+  }
+
+  /**
+   * Picks the database context which plain reads are sent to.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  @FunctionalInterface
+  interface Reads extends Supplier<DSLContext> {
+  }
+
+  /**
+   * Tracks the last write from the client whose request is being handled on
+   * the current thread, as told by the {@link #HEADER} it sends. A request
+   * which writes is stamped with its own time, which is handed back to the
+   * client on the same header.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  @lombok.NoArgsConstructor(access = AccessLevel.PRIVATE)
+  final class Session {
+
+    /**
+     * Epoch milliseconds of the client's last write.
+     */
+    static final String HEADER = "X-Written-At";
+    private static final ThreadLocal<Long> WRITTEN = new ThreadLocal<>();
+
+    /**
+     * Binds the client's last write to the current thread.
+     *
+     * @param at Epoch milliseconds of the last write.
+     */
+    static void stamp(final long at) {
+      WRITTEN.set(at);
+    }
+
+    /**
+     * Unbinds the client's last write from the current thread.
+     */
+    static void clear() {
+      WRITTEN.remove();
+    }
+
+    /**
+     * States if the client has written within the provided window.
+     *
+     * @param window Time which reads stay on the primary after a write for.
+     * @return Whether reads should stay on the primary.
+     */
+    static boolean isPinned(final @lombok.NonNull Duration window) {
+      return Optional.ofNullable(WRITTEN.get()).filter(
+          w -> System.currentTimeMillis() - w < window.toMillis()).isPresent();
+    }
   }
 
   /**
@@ -81,46 +187,187 @@ interface Persistence extends Supplier<Dao> {
     String SIZE = "prepStmtCacheSize";
     String LIMIT = "prepStmtCacheSqlLimit";
     String USE = "useServerPrepStmts";
+    String SHARD = "shard";
+    String GROUP = "group";
 
     @Scope
     @dagger.Provides
     static DataSource ds(final @lombok.NonNull Config c) {
-      val cfg = new HikariConfig();
-      cfg.setDriverClassName(c.driver);
-      cfg.setJdbcUrl(c.url);
-      cfg.setUsername(c.user);
-      cfg.setPassword(c.pwd);
-      cfg.addDataSourceProperty(CACHE, Boolean.TRUE);
-      cfg.addDataSourceProperty(SIZE, 250);
-      cfg.addDataSourceProperty(LIMIT, 2048);
-      cfg.addDataSourceProperty(USE, Boolean.TRUE);
-      return new HikariDataSource(cfg);
+      return poolOf(c, c.url, Boolean.FALSE);
+    }
+
+    @Scope
+    @dagger.Provides
+    static DSLContext ctx(final @lombok.NonNull Application.Mode m,
+                          final @lombok.NonNull DataSource ds) {
+      val prd = Mode.PRD == m;
+      val d = prd ? SQLDialect.POSTGRES : SQLDialect.HSQLDB;
+      // Generated names are upper-cased, as HSQLDB stores unquoted ones
+      val c = prd ? RenderNameCase.LOWER : RenderNameCase.AS_IS;
+      return DSL.using(ds, d, new Settings()
+          .withRenderNameCase(c)
+          .withExecuteLogging(Boolean.FALSE)
+          .withRenderCatalog(Boolean.FALSE)
+          .withRenderSchema(Boolean.FALSE)
+          .withQueryPoolable(QueryPoolable.TRUE));
+    }
+
+    /**
+     * Spreads plain reads over read-only replica pools in turns. Reads from a
+     * client which has just written stay on the primary, as well as every
+     * read when no replica is configured.
+     *
+     * @param m   Application's running mode.
+     * @param c   Database connection configuration.
+     * @param ctx Primary database context.
+     * @return Database context picker for plain reads.
+     */
+    @Scope
+    @dagger.Provides
+    static Reads reads(final @lombok.NonNull Application.Mode m,
+                       final @lombok.NonNull Config c,
+                       final @lombok.NonNull DSLContext ctx) {
+      val replicas = c.replicas.stream()
+                               .map(u -> ctx(m, poolOf(c, u, Boolean.TRUE)))
+                               .collect(Collectors.toUnmodifiableList());
+      if (replicas.isEmpty()) {
+        return () -> ctx;
+      }
+      val turn = new AtomicInteger();
+      return () -> Session.isPinned(c.pinned) ? ctx : replicas.get(
+          Math.floorMod(turn.getAndIncrement(), replicas.size()));
     }
 
+    @dagger.Provides
+    static Dao.Ids ids(final @lombok.NonNull Config c) {
+      return c.ids;
+    }
+
+    /**
+     * Connects to the further shards, whose reads are kept on their primary.
+     *
+     * @param m Application's running mode.
+     * @param c Database connection configuration.
+     * @return Database context from each further shard.
+     */
+    @Scope
+    @dagger.Provides
+    static List<DSLContext> shards(final @lombok.NonNull Application.Mode m,
+                                   final @lombok.NonNull Config c) {
+      return c.shards.stream().map(u -> ctx(m, poolOf(c, u, Boolean.FALSE)))
+                     .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Provides the database operations, with concurrent single creations
+     * committed together whenever {@link Config#getGroup() grouping} is set.
+     *
+     * @param c      Database connection configuration.
+     * @param ctx    Primary database context.
+     * @param reads  Database context picker for plain reads.
+     * @param shards Database context from each further shard.
+     * @param ids    Identity generation strategy.
+     * @return Database operations.
+     */
     @Scope
     @dagger.Provides
-    static Dao dao(final @lombok.NonNull Application.Mode m,
-                   final @lombok.NonNull DataSource ds) {
-      val d = Mode.PRD == m ? SQLDialect.POSTGRES : SQLDialect.HSQLDB;
+    static Dao dao(final @lombok.NonNull Config c,
+                   final @lombok.NonNull DSLContext ctx,
+                   final @lombok.NonNull Reads reads,
+                   final @lombok.NonNull List<DSLContext> shards,
+                   final @lombok.NonNull Dao.Ids ids) {
+      val dao = daoOf(ctx, reads, shards, ids);
+      if (c.group.isZero()) {
+        return dao;
+      }
+      return Dao.Grouped.of(dao, c.group, c.groupRows, Executors
+          .newScheduledThreadPool(Runtime.getRuntime().availableProcessors(),
+                                  r -> daemonOf(r, GROUP)));
+    }
+
+    private static Dao daoOf(final @lombok.NonNull DSLContext ctx,
+                             final @lombok.NonNull Reads reads,
+                             final @lombok.NonNull List<DSLContext> shards,
+                             final @lombok.NonNull Dao.Ids ids) {
+      val sql = new Dao.Templates();
+      if (!shards.isEmpty()) {
+        val all = Stream.concat(Stream.of(ctx), shards.stream())
+                        .collect(Collectors.toUnmodifiableList());
+        val picks = Stream.concat(
+            Stream.<Supplier<DSLContext>>of(reads),
+            shards.stream().map(s -> (Supplier<DSLContext>) () -> s))
+                          .collect(Collectors.toUnmodifiableList());
+        return Dao.Sharded.of(all, picks, sql, ids, Executors
+            .newCachedThreadPool(r -> daemonOf(r, SHARD)));
+      }
       return new Dao() {
 
         @Override
         @lombok.SneakyThrows
-        public <T> Mapper<T, UUID> from(final @lombok.NonNull Class<T> ref) {
-          return Default.of(DSL.using(ds, d), ref);
+        public <T, R extends Record> Mapper<T, UUID> from(
+            final @lombok.NonNull Mapping<T, R> m) {
+          return Default.of(ctx, reads.get(), sql, ids, m);
         }
 
         @Override
         @lombok.SneakyThrows
-        public <T, U> Mapper.Composed<U, UUID> from(
+        public <T, U, S extends Record> Mapper.Composed<U, UUID> from(
             final @lombok.NonNull UUID root,
-            final @lombok.NonNull Class<T> ref,
-            final @lombok.NonNull Class<U> ext,
+            final @lombok.NonNull Mapping<T, ?> base,
+            final @lombok.NonNull Mapping<U, S> ext,
             final @lombok.NonNull Predicate<U> canBind) {
-          return Composed.of(root, canBind, DSL.using(ds, d), ref, ext);
+          return Composed.of(root, canBind, ctx, reads.get(), sql, ids, base,
+                             ext);
+        }
+
+        @Override
+        public <U, S extends Record> Map<UUID, Map<UUID, U>> getFrom(
+            final @lombok.NonNull Set<UUID> roots,
+            final @lombok.NonNull Mapping<?, ?> base,
+            final @lombok.NonNull Mapping<U, S> ext) {
+          return Composed.getFrom(reads.get(), roots, base.table(), ext);
+        }
+
+        @Override
+        public long export(final @lombok.NonNull Mapping<?, ?> base,
+                           final @lombok.NonNull Mapping<?, ?> ext,
+                           final @lombok.NonNull BiConsumer<UUID, UUID> sink) {
+          return Composed.export(reads.get(), base.table(), ext.table(),
+                                 sink);
         }
       };
     }
+
+    private static Thread daemonOf(final @lombok.NonNull Runnable r,
+                                   final @lombok.NonNull String name) {
+      val t = new Thread(r, name);
+      t.setDaemon(Boolean.TRUE);
+      return t;
+    }
+
+    /**
+     * Creates a connection pool to the provided URL.
+     *
+     * @param c        Database connection configuration.
+     * @param url      Database URL.
+     * @param readOnly Whether connections are handed as read-only.
+     * @return Pooled data source.
+     */
+    private static DataSource poolOf(final @lombok.NonNull Config c,
+                                     final @lombok.NonNull String url,
+                                     final boolean readOnly) {
+      val cfg = new HikariConfig();
+      cfg.setDriverClassName(c.driver);
+      cfg.setJdbcUrl(url);
+      cfg.setUsername(c.user);
+      cfg.setPassword(c.pwd);
+      cfg.setReadOnly(readOnly);
+      cfg.addDataSourceProperty(CACHE, Boolean.TRUE);
+      cfg.addDataSourceProperty(SIZE, 250);
+      cfg.addDataSourceProperty(LIMIT, 2048);
+      cfg.addDataSourceProperty(USE, Boolean.TRUE);
+      return new HikariDataSource(cfg);
+    }
   }
 
   /**
@@ -53,6 +53,46 @@ public enum Props {
    * Database password to connect to. <b>Not provided but required</b>.
    */
   DB_PWD("db.pwd", null),
+  /**
+   * Identity generation strategy, either {@code random} or
+   * {@code time_ordered}.
+   */
+  DB_IDS("db.ids", "time_ordered"),
+  /**
+   * Comma-separated replica URLs which reads are spread over, connected to
+   * with the same credentials. Every read goes to the primary if none.
+   */
+  DB_REPLICAS("db.replicas", ""),
+  /**
+   * Milliseconds during which a client's reads stay on the primary after it
+   * writes, so it reads its own writes regardless of replication lag.
+   */
+  DB_PINNED("db.pinned", "1000"),
+  /**
+   * Comma-separated URLs from further shards, which resources are spread
+   * over along with the primary one, connected to with the same credentials.
+   */
+  DB_SHARDS("db.shards", ""),
+  /**
+   * Milliseconds which concurrent single creations wait for each other, to
+   * be committed together. Each one is committed on its own if zero.
+   */
+  DB_GROUP("db.group", "0"),
+  /**
+   * Most single creations committed together, which are flushed right away
+   * once reached.
+   */
+  DB_GROUP_ROWS("db.group.rows", "100"),
+  /**
+   * Directory which the address feature writes its single creations and
+   * updates behind through a journal on. They go straight to the database
+   * if none.
+   */
+  DB_JOURNAL("db.journal", ""),
+  /**
+   * Milliseconds between each drain from the journal to the database.
+   */
+  DB_JOURNAL_FLUSH("db.journal.flush", "1000"),
   ;
   private static final Props[] VALUES = values();
   private static final Pattern SPLIT = Pattern.compile("=");
@@ -1,17 +1,22 @@
 package template.core;
 
 import io.javalin.apibuilder.ApiBuilder;
+import io.javalin.http.Context;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Target;
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.Supplier;
+import lombok.val;
 import template.Application;
 import template.Application.Feat;
 import template.Application.Mode;
+import template.base.Journal;
 import template.base.contract.Buildable;
 import template.base.contract.Controller;
 import template.base.contract.Dao;
 import template.base.contract.Router;
+import template.base.stereotype.Domain;
 import template.core.Routes.Mod;
 import template.core.Routes.Scope;
 import template.feature.address.Address;
@@ -57,25 +62,76 @@ interface Routes extends Supplier<Router> {
                          final @lombok.NonNull Controller<User> user,
                          final @lombok.NonNull Controller<Address> address,
                          final @lombok.NonNull Controller.Aggregate<User,
-                             Address> userAddress) {
+                             Address> userAddress,
+                         final @lombok.NonNull Controller.Aggregate<Address,
+                             User> addressUser) {
       return () -> {
         if (Mode.PRD != mode) {
           ApiBuilder.get(info);
         }
+        val aggregated = Arrays.stream(feats).filter(
+            f -> Feat.USER == f || Feat.ADDRESS == f).limit(2).count() == 2;
         for (final var f : feats) {
           if (Feat.USER == f) {
-            ApiBuilder.crud(user.path(), user);
+            crud(user, aggregated ? List.of(userAddress) : List.of());
           }
           if (Feat.ADDRESS == f) {
-            ApiBuilder.crud(address.path(), address);
+            crud(address, aggregated ? List.of(addressUser) : List.of());
           }
         }
-        if (Arrays.stream(feats).filter(
-            f -> Feat.USER == f || Feat.ADDRESS == f).limit(2).count() == 2) {
-          ApiBuilder.crud(userAddress.path(), userAddress);
+        if (aggregated) {
+          aggregate(userAddress);
+          aggregate(addressUser);
         }
       };
     }
+
+    /**
+     * Registers operations on resources bound to a root one, along with the
+     * set-based ones handled on the aggregate's collection path.
+     *
+     * @param a Aggregate to register operations from.
+     */
+    private static void aggregate(
+        final @lombok.NonNull Controller.Aggregate<?, ?> a) {
+      ApiBuilder.get(a.exportPath(), a::exportAll);
+      ApiBuilder.crud(a.path(), a);
+      val root = a.path().replace(Router.Path.PATH_ID, "");
+      ApiBuilder.patch(root, a::linkAll);
+      ApiBuilder.delete(root, a::unlinkAll);
+    }
+
+    /**
+     * Registers single resource operations, along with the set-based ones
+     * handled on the collection path. Retrieval on the collection path is
+     * registered once, embedding aggregates, rather than through
+     * {@link ApiBuilder#crud}, which would register a second one.
+     *
+     * @param c        Controller to register operations from.
+     * @param includes Aggregates whose resources can be embedded on the
+     *                 collection retrieval.
+     * @param <D>      Domain type handled by the controller.
+     */
+    private static <D extends Domain<D>> void crud(
+        final @lombok.NonNull Controller<D> c,
+        final @lombok.NonNull List<Controller.Aggregate<D, ?>> includes) {
+      val root = c.path().replace(Router.Path.PATH_ID, "");
+      // Ahead of single resource operations, as identity would match it
+      ApiBuilder.get(root + Router.Path.PATH_EXPORT, c::exportAll);
+      ApiBuilder.get(root, ctx -> c.getAll(ctx, includes));
+      ApiBuilder.post(root, c::create);
+      ApiBuilder.get(c.path(), ctx -> c.getOne(ctx, idOf(ctx)));
+      ApiBuilder.patch(c.path(), ctx -> c.update(ctx, idOf(ctx)));
+      ApiBuilder.delete(c.path(), ctx -> c.delete(ctx, idOf(ctx)));
+      ApiBuilder.put(c.path(), c::put);
+      ApiBuilder.patch(root, c::updateAll);
+      ApiBuilder.delete(root, c::deleteAll);
+      ApiBuilder.post(root + Router.Path.PATH_IMPORT, c::importAll);
+    }
+
+    private static String idOf(final @lombok.NonNull Context ctx) {
+      return ctx.pathParam(Router.Path.ID);
+    }
   }
 
   /**
@@ -87,6 +143,7 @@ interface Routes extends Supplier<Router> {
   @dagger.Component.Builder
   interface Build extends Buildable.Part1<Build, Routes, Application.Mode>,
                           Buildable.Part2<Build, Routes, Application.Feat[]>,
-                          Buildable.Part3<Build, Routes, Dao> {
+                          Buildable.Part3<Build, Routes, Dao>,
+                          Buildable.Part4<Build, Routes, Journal.Config> {
   }
 }
@@ -5,7 +5,10 @@ import io.javalin.Javalin;
 import io.javalin.plugin.json.JavalinJson;
 import io.javalin.plugin.openapi.annotations.ContentType;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import lombok.val;
 import template.Application;
 import template.Application.Mode;
@@ -31,6 +34,10 @@ interface Web extends Supplier<Application.Server> {
    */
   @dagger.Module
   interface Mod {
+
+    Set<String> READS = Set.of("GET", "HEAD", "OPTIONS");
+    Pattern MILLIS = Pattern.compile("\\d{1,18}");
+
     @dagger.Provides
     @Application.Scope
     static Application.Server server(final @lombok.NonNull Mode mode,
@@ -43,6 +50,21 @@ interface Web extends Supplier<Application.Server> {
         cfg.defaultContentType = ContentType.JSON;
         cfg.autogenerateEtags = Boolean.TRUE;
       }).routes(routes.build().get());
+      // Reads right after the client's own writes are pinned to the primary
+      app.before(c -> {
+        Persistence.Session.clear();
+        if (READS.contains(c.method())) {
+          Optional.ofNullable(c.header(Persistence.Session.HEADER))
+                  .filter(h -> MILLIS.matcher(h).matches())
+                  .map(Long::parseLong)
+                  .ifPresent(Persistence.Session::stamp);
+        } else {
+          val now = System.currentTimeMillis();
+          c.header(Persistence.Session.HEADER, String.valueOf(now));
+          Persistence.Session.stamp(now);
+        }
+      });
+      app.after(c -> Persistence.Session.clear());
       Runtime.getRuntime().addShutdownHook(new Thread(app::stop));
       app.exception(Violation.class, (e, c) -> {
         c.status(422);
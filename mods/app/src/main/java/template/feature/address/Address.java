@@ -12,10 +12,13 @@ import template.base.Checks;
 import template.base.contract.Buildable;
 import template.base.contract.CacheManager;
 import template.base.contract.Controller;
+import template.base.contract.Dao;
 import template.base.contract.Repository;
 import template.base.contract.Router;
 import template.base.contract.Service;
 import template.base.stereotype.Domain;
+import template.feature.user.User;
+import template.schema.tables.records.AddressRecord;
 
 /**
  * {@link Domain} which represents class an address.
@@ -128,11 +131,27 @@ public class Address implements Domain<Address>,
     @dagger.Binds
     Service<Address, UUID> service(final AddressController a);
 
+    @dagger.Binds
+    Controller.Aggregate<Address, User> withUser(
+        final AddressController.WithUser a);
+
     // Repository
 
+    @dagger.Binds
+    Repository<Address, UUID> repo(final AddressRepository a);
+
     @dagger.Binds
     Repository.Cached<Address, UUID> cached(final AddressRepository a);
 
+    @dagger.Binds
+    Repository.Composable<Address, User, UUID> repoUser(
+        final AddressRepository.WithUser a);
+
+    // Persistence
+
+    @dagger.Binds
+    Dao.Mapping<Address, AddressRecord> mapping(final AddressMapping m);
+
     // Caching
 
     @dagger.Binds
@@ -6,6 +6,7 @@ import template.base.contract.CacheManager;
 import template.base.contract.Controller;
 import template.base.contract.Repository;
 import template.base.contract.Service;
+import template.feature.user.User;
 
 /**
  * {@link Address} feature controller implementation.
@@ -25,4 +26,31 @@ final class AddressController extends Service.Cached<Address, UUID>
   public Class<Address> ref() {
     return Address.class;
   }
+
+  /**
+   * Aggregate implementation between {@link Address} and {@link User} domains,
+   * for looking up the users bound to an address.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  static final class WithUser
+      extends Service.Composed<Address, User, UUID>
+      implements Controller.Aggregate<Address, User> {
+
+    @javax.inject.Inject
+    WithUser(
+        final @NonNull Repository.Composable<Address, User, UUID> base) {
+      super(base);
+    }
+
+    @Override
+    public Class<Address> ref() {
+      return Address.class;
+    }
+
+    @Override
+    public Class<User> extRef() {
+      return User.class;
+    }
+  }
 }
@@ -0,0 +1,48 @@
+package template.feature.address;
+
+import org.jooq.Table;
+import template.base.contract.Dao;
+import template.schema.Tables;
+import template.schema.tables.records.AddressRecord;
+
+/**
+ * {@link Address} feature row mapping implementation.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+final class AddressMapping implements Dao.Mapping<Address, AddressRecord> {
+
+  @javax.inject.Inject
+  AddressMapping() {
+  }
+
+  @Override
+  public Table<AddressRecord> table() {
+    return Tables.ADDRESS;
+  }
+
+  @Override
+  public Address from(final @lombok.NonNull AddressRecord r) {
+    return Address.builder()
+                  .type(Address.Type.valueOf(r.getType()))
+                  .place(r.getPlace())
+                  .number(r.getNumber())
+                  .neighbourhood(r.getNeighbourhood())
+                  .municipality(r.getMunicipality())
+                  .state(r.getState())
+                  .postalCode(r.getPostalCode()).build();
+  }
+
+  @Override
+  public AddressRecord to(final @lombok.NonNull Address a) {
+    return new AddressRecord(null, a.getType().name(), a.getPlace(),
+                             a.getNumber(), a.getNeighbourhood(),
+                             a.getMunicipality(), a.getState(),
+                             a.getPostalCode());
+  }
+
+  @Override
+  public Class<Address> ref() {
+    return Address.class;
+  }
+}
@@ -1,17 +1,50 @@
 package template.feature.address;
 
+import java.util.UUID;
+import template.Application;
+import template.base.Journal;
 import template.base.contract.Dao;
 import template.base.contract.Repository;
+import template.feature.user.User;
+import template.schema.tables.records.AddressRecord;
+import template.schema.tables.records.UserRecord;
 
 /**
- * {@link Address} feature repository implementation.
+ * {@link Address} feature repository implementation. Single creations and
+ * updates are written behind whenever the journal is enabled, which is why it
+ * is scoped: the journal is opened only once.
  *
  * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
  */
+@Application.Scope
 final class AddressRepository extends Repository.Default<Address> {
 
   @javax.inject.Inject
-  AddressRepository(final @lombok.NonNull Dao dao) {
-    super(dao, Address.class);
+  AddressRepository(
+      final @lombok.NonNull Dao dao,
+      final @lombok.NonNull Dao.Mapping<Address, AddressRecord> mapping,
+      final @lombok.NonNull Journal.Config journal) {
+    super(dao, mapping, journal);
+  }
+
+  /**
+   * Address feature with User aggregation repository implementation. Joins
+   * the other way around from {@link User}'s one, through the same link
+   * table.
+   *
+   * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+   */
+  static final class WithUser
+      extends Repository.Composed<Address, User>
+      implements Repository.Composable<Address, User, UUID> {
+
+    @javax.inject.Inject
+    WithUser(final @lombok.NonNull Repository<Address, UUID> repo,
+             final @lombok.NonNull Repository<User, UUID> extRepo,
+             final @lombok.NonNull Dao dao,
+             final @lombok.NonNull Dao.Mapping<Address, AddressRecord> base,
+             final @lombok.NonNull Dao.Mapping<User, UserRecord> ext) {
+      super(repo, extRepo, dao, base, ext);
+    }
   }
 }
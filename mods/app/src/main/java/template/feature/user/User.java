@@ -12,10 +12,12 @@ import template.base.Checks;
 import template.base.contract.CacheManager;
 import template.base.contract.Controller;
 import template.base.contract.Controller.Aggregate;
+import template.base.contract.Dao;
 import template.base.contract.Repository;
 import template.base.contract.Router;
 import template.base.stereotype.Domain;
 import template.feature.address.Address;
+import template.schema.tables.records.UserRecord;
 
 /**
  * {@link Domain} which represents an user.
@@ -98,6 +100,11 @@ public class User implements Domain<User> {
     Repository.Composable<User, Address, UUID> repoAddress(
         final UserRepository.WithAddress a);
 
+    // Persistence
+
+    @dagger.Binds
+    Dao.Mapping<User, UserRecord> mapping(final UserMapping m);
+
     // Caching
 
     @dagger.Binds
@@ -0,0 +1,39 @@
+package template.feature.user;
+
+import org.jooq.Table;
+import template.base.contract.Dao;
+import template.schema.Tables;
+import template.schema.tables.records.UserRecord;
+
+/**
+ * {@link User} feature row mapping implementation.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+final class UserMapping implements Dao.Mapping<User, UserRecord> {
+
+  @javax.inject.Inject
+  UserMapping() {
+  }
+
+  @Override
+  public Table<UserRecord> table() {
+    return Tables.USER;
+  }
+
+  @Override
+  public User from(final @lombok.NonNull UserRecord r) {
+    return new User(r.getUsername(), r.getEmail(), r.getName(), r.getAge());
+  }
+
+  @Override
+  public UserRecord to(final @lombok.NonNull User u) {
+    return new UserRecord(null, u.getUsername(), u.getEmail(), u.getName(),
+                          u.getAge());
+  }
+
+  @Override
+  public Class<User> ref() {
+    return User.class;
+  }
+}
@@ -4,6 +4,8 @@ import java.util.UUID;
 import template.base.contract.Dao;
 import template.base.contract.Repository;
 import template.feature.address.Address;
+import template.schema.tables.records.AddressRecord;
+import template.schema.tables.records.UserRecord;
 
 /**
  * {@link User} feature repository implementation.
@@ -14,8 +16,9 @@ final class UserRepository extends Repository.Default<User>
     implements Repository.Cached<User, UUID> {
 
   @javax.inject.Inject
-  UserRepository(final @lombok.NonNull Dao dao) {
-    super(dao, User.class);
+  UserRepository(final @lombok.NonNull Dao dao,
+                 final @lombok.NonNull Dao.Mapping<User, UserRecord> mapping) {
+    super(dao, mapping);
   }
 
   /**
@@ -29,18 +32,11 @@ final class UserRepository extends Repository.Default<User>
 
     @javax.inject.Inject
     WithAddress(final @lombok.NonNull Repository<User, UUID> repo,
-                final @lombok.NonNull Dao dao) {
-      super(repo, dao);
-    }
-
-    @Override
-    public Class<User> ref() {
-      return User.class;
-    }
-
-    @Override
-    protected Class<Address> extRef() {
-      return Address.class;
+                final @lombok.NonNull Repository<Address, UUID> extRepo,
+                final @lombok.NonNull Dao dao,
+                final @lombok.NonNull Dao.Mapping<User, UserRecord> base,
+                final @lombok.NonNull Dao.Mapping<Address, AddressRecord> ext) {
+      super(repo, extRepo, dao, base, ext);
     }
   }
 }
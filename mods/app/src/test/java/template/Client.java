@@ -211,8 +211,8 @@ public interface Client<T> {
     @lombok.SneakyThrows
     public HttpResponse<String> get() {
       val cfg = this.req.build();
-      val body = null == cfg.body
-          ? BodyPublishers.noBody()
+      val body = null != cfg.raw ? BodyPublishers.ofString(cfg.raw)
+          : null == cfg.body ? BodyPublishers.noBody()
           : BodyPublishers.ofString(MAPPER.toJson(cfg.body));
       val params = null == cfg.params ? "" : paramsOf("&", cfg.params);
       val str = null != cfg.uri ? base + "/" + cfg.uri : "" + base;
@@ -288,6 +288,10 @@ public interface Client<T> {
      * HTTP request body.
      */
     Object body;
+    /**
+     * HTTP request body, sent as it is instead of being serialized.
+     */
+    String raw;
     /**
      * Request's query parameters.
      */
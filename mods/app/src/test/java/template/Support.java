@@ -8,6 +8,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.net.ServerSocket;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.DriverManager;
@@ -16,6 +17,8 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import liquibase.Contexts;
 import liquibase.Liquibase;
 import liquibase.database.jvm.JdbcConnection;
@@ -90,6 +93,38 @@ public interface Support {
      * @return The file's path.
      */
     String migrationPath() default "db-changelog.xml";
+
+    /**
+     * Indicates how many databases resources are spread over, each one
+     * migrated on its own.
+     *
+     * @return Amount of shards.
+     */
+    int shards() default 1;
+
+    /**
+     * Indicates whether writes are behind through a journal, kept on a fresh
+     * directory for each test, as told by {@link #journal()}.
+     *
+     * @return If writes are behind.
+     */
+    boolean writeBehind() default false;
+
+    /**
+     * Indicates how long the journal waits between draining its pending
+     * resources, if writes are behind.
+     *
+     * @return Drain interval, in milliseconds.
+     */
+    long flush() default 100;
+
+    /**
+     * Indicates how long single creations wait for further ones to be
+     * committed together with.
+     *
+     * @return Group window, in milliseconds.
+     */
+    long group() default 5;
   }
 
   /**
@@ -131,6 +166,23 @@ public interface Support {
     }
   }
 
+  /**
+   * Provides the directory which the running test's journal is kept on, if
+   * its writes are behind. Meant to be written to ahead of the application's
+   * startup.
+   *
+   * @return The journal directory.
+   */
+  static Path journal() {
+    return AppExtension.JOURNAL.get();
+  }
+
+  private static int shardsOf(final @NonNull ExtensionContext ctx) {
+    return ctx.getTestInstance().map(Object::getClass)
+              .map(a -> a.getAnnotation(IntegrationTest.class))
+              .map(IntegrationTest::shards).orElse(1);
+  }
+
   /**
    * Creates a {@link PrintWriter} based on the provided {@link Consumer}
    * function. Meant to be used on the middleware applications' loggers applied
@@ -207,10 +259,20 @@ public interface Support {
    *
    * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
    */
-  final class AppExtension implements BeforeTestExecutionCallback,
+  final class AppExtension implements BeforeEachCallback,
+                                      BeforeTestExecutionCallback,
                                       AfterTestExecutionCallback {
     private static final AtomicReference<Application.Server> REF =
         new AtomicReference<>();
+    private static final AtomicReference<Path> JOURNAL =
+        new AtomicReference<>();
+
+    @Override
+    @SneakyThrows
+    public void beforeEach(final ExtensionContext ctx) {
+      JOURNAL.set(isWriteBehind(ctx)
+                      ? Files.createTempDirectory("journal") : null);
+    }
 
     @Override
     public void beforeTestExecution(final ExtensionContext ctx) {
@@ -228,10 +290,36 @@ public interface Support {
           Props.FEAT.is(Arrays.toString(feats).replaceAll("[\\[\\] ]", "")),
           Props.DB_DRIVER.is(jdbcDriver.class.getCanonicalName()),
           Props.DB_URL.is(DbExtension.DB_URL),
+          Props.DB_REPLICAS.is(DbExtension.DB_URL),
+          Props.DB_GROUP.is(groupOf(ctx)),
+          Props.DB_SHARDS.is(IntStream.range(1, shardsOf(ctx))
+                                      .mapToObj(DbExtension::urlOf)
+                                      .collect(Collectors.joining(","))),
+          Props.DB_JOURNAL.is(Optional.ofNullable(JOURNAL.get())
+                                      .map(String::valueOf).orElse("")),
+          Props.DB_JOURNAL_FLUSH.is(flushOf(ctx)),
           Props.DB_USER.is(DbExtension.DB_USER),
           Props.DB_PWD.is(DbExtension.DB_PWD)));
     }
 
+    private static boolean isWriteBehind(final @NonNull ExtensionContext ctx) {
+      return ctx.getTestInstance().map(Object::getClass)
+                .map(a -> a.getAnnotation(IntegrationTest.class))
+                .map(IntegrationTest::writeBehind).orElse(Boolean.FALSE);
+    }
+
+    private static long groupOf(final @NonNull ExtensionContext ctx) {
+      return ctx.getTestInstance().map(Object::getClass)
+                .map(a -> a.getAnnotation(IntegrationTest.class))
+                .map(IntegrationTest::group).orElse(5L);
+    }
+
+    private static long flushOf(final @NonNull ExtensionContext ctx) {
+      return ctx.getTestInstance().map(Object::getClass)
+                .map(a -> a.getAnnotation(IntegrationTest.class))
+                .map(IntegrationTest::flush).orElse(100L);
+    }
+
     @Override
     public void afterTestExecution(final ExtensionContext ctx) {
       REF.get().stop();
@@ -255,6 +343,16 @@ public interface Support {
     public static final String DB_USER = "user";
     public static final String DB_PWD = "";
 
+    /**
+     * Provides the URL to the provided shard's database.
+     *
+     * @param shard Shard's index. The first one is the main database.
+     * @return Database URL.
+     */
+    public static String urlOf(final int shard) {
+      return 0 == shard ? DB_URL : DB_URL + shard;
+    }
+
     @Override
     public void beforeAll(final ExtensionContext ctx) throws Exception {
       SERVER.setLogWriter(writerFor(log::info));
@@ -295,6 +393,7 @@ public interface Support {
     private static final class Migrator {
 
       private final Path path;
+      private final int shards;
 
       @SneakyThrows
       private static Migrator create(final @NonNull ExtensionContext ctx) {
@@ -304,16 +403,18 @@ public interface Support {
                       .filter(Predicate.not(String::isBlank))
                       .map(p -> Paths.get("src", "main", "resources", p))
                       .orElseThrow(Exceptions.NOT_FOUND);
-        return new Migrator(path);
+        return new Migrator(path, shardsOf(ctx));
       }
 
       @SneakyThrows
       private void act(final @NonNull Consumer<Liquibase> action) {
         val acc = new FileSystemResourceAccessor(path.getParent().toFile());
-        val conn = new JdbcConnection(
-            DriverManager.getConnection(DB_URL, DB_USER, DB_PWD));
-        @Cleanup val lb = new Liquibase(path.toString(), acc, conn);
-        action.accept(lb);
+        for (var i = 0; i < shards; i++) {
+          val conn = new JdbcConnection(
+              DriverManager.getConnection(urlOf(i), DB_USER, DB_PWD));
+          @Cleanup val lb = new Liquibase(path.toString(), acc, conn);
+          action.accept(lb);
+        }
       }
     }
   }
@@ -0,0 +1,151 @@
+package template.base;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Write-behind journal test suite.")
+class JournalTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  @DisplayName(""
+      + "GIVEN a default configuration "
+      + "WHEN checking if writes are behind "
+      + "THEN should not be, AND refuse to open a journal.")
+  final void givenDefaultConfig_whenCheckingEnabled_thenShouldNotBe() {
+    // Arrange
+    final var cfg = Journal.Config.builder().build();
+    final var rows = Journal.Config.builder().dir(dir.toString()).rows(0)
+                                   .build();
+    final var flush = Journal.Config.builder().dir(dir.toString())
+                                    .flush(Duration.ZERO).build();
+    // Act / Assert
+    Assertions.assertFalse(cfg.isEnabled());
+    Assertions.assertEquals(Duration.ofSeconds(1), cfg.getFlush());
+    Assertions.assertEquals(1_000, cfg.getRows());
+    Assertions.assertEquals(4, cfg.getIds().get().version());
+    for (final var c : List.of(cfg, rows, flush)) {
+      Assertions.assertThrows(RuntimeException.class,
+                              () -> Journal.open(c, String.class, m -> {
+                              }));
+    }
+  }
+
+  @Test
+  @DisplayName(""
+      + "GIVEN segments left over, the last one with a torn line "
+      + "WHEN opening the journal "
+      + "THEN should store their latest resources AND delete them.")
+  final void givenLeftoverSegments_whenOpening_thenShouldStoreLatest()
+      throws Exception {
+    // Arrange
+    final var a = UUID.randomUUID();
+    final var b = UUID.randomUUID();
+    Files.writeString(dir.resolve("string.1.journal"),
+                      lineOf(a, "a1") + lineOf(b, "b"));
+    Files.writeString(dir.resolve("string.2.journal"),
+                      lineOf(a, "a2") + "{\"id\":");
+    final var stored = new LinkedHashMap<UUID, String>();
+    // Act
+    final var journal = Journal.open(configOf(), String.class, stored::putAll);
+    // Assert
+    Assertions.assertEquals(Map.of(a, "a2", b, "b"), stored);
+    Assertions.assertNull(journal.get(a));
+    Assertions.assertEquals(List.of("string.4.journal"), filesOf(dir));
+  }
+
+  @Test
+  @DisplayName(""
+      + "GIVEN a pending resource which the storage rejects among valid ones "
+      + "WHEN draining the journal "
+      + "THEN should store the valid ones "
+      + "AND keep the rejected one on the dead-letter file.")
+  final void givenRejectedResource_whenDraining_thenShouldKeepItAsDeadLetter()
+      throws Exception {
+    // Arrange
+    final var stored = new LinkedHashMap<UUID, String>();
+    final var journal = Journal.open(configOf(), String.class, m -> {
+      if (m.containsValue("bad")) {
+        throw new IllegalStateException("rejected");
+      }
+      stored.putAll(m);
+    });
+    final var bad = UUID.randomUUID();
+    final var good = List.of(UUID.randomUUID(), UUID.randomUUID());
+    journal.append(good.get(0), "good");
+    journal.append(bad, "bad");
+    journal.append(good.get(1), "good");
+    // Act
+    journal.flush();
+    // Assert
+    Assertions.assertEquals(Map.of(good.get(0), "good", good.get(1), "good"),
+                            stored);
+    Assertions.assertNull(journal.get(bad));
+    Assertions.assertEquals(lineOf(bad, "bad"), Files.readString(
+        dir.resolve("string.dead.journal"), StandardCharsets.UTF_8));
+    Assertions.assertEquals(List.of("string.2.journal", "string.dead.journal"),
+                            filesOf(dir));
+  }
+
+  @Test
+  @DisplayName(""
+      + "GIVEN pending resources while the storage is down "
+      + "WHEN draining the journal "
+      + "THEN should keep them pending and on disk "
+      + "AND store them once the storage is back.")
+  final void givenStorageDown_whenDraining_thenShouldKeepPending()
+      throws Exception {
+    // Arrange
+    final var down = new AtomicBoolean(true);
+    final var stored = new LinkedHashMap<UUID, String>();
+    final var journal = Journal.open(configOf(), String.class, m -> {
+      if (down.get()) {
+        throw new IllegalStateException("down");
+      }
+      stored.putAll(m);
+    });
+    final var id = UUID.randomUUID();
+    journal.append(id, "pending");
+    // Act / Assert
+    Assertions.assertThrows(IllegalStateException.class, journal::flush);
+    Assertions.assertEquals("pending", journal.get(id));
+    Assertions.assertEquals(List.of("string.1.journal", "string.2.journal"),
+                            filesOf(dir));
+    down.set(false);
+    journal.flush();
+    Assertions.assertEquals(Map.of(id, "pending"), stored);
+    Assertions.assertNull(journal.get(id));
+    Assertions.assertEquals(List.of("string.3.journal"), filesOf(dir));
+  }
+
+  private Journal.Config configOf() {
+    return Journal.Config.builder().dir(dir.toString())
+                         .flush(Duration.ofHours(1)).rows(2).build();
+  }
+
+  private static String lineOf(final UUID id, final String value) {
+    return "{\"id\":\"" + id + "\",\"value\":\"" + value + "\"}"
+        + System.lineSeparator();
+  }
+
+  private static List<String> filesOf(final Path dir) throws Exception {
+    try (final var files = Files.list(dir)) {
+      return files.map(f -> f.getFileName().toString()).sorted()
+                  .collect(Collectors.toList());
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package template.core;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import template.base.contract.Dao;
+
+/**
+ * Compares identities keyed as {@code CHAR(36)} against native {@code UUID}
+ * columns: how much the primary key takes and how long a lookup by it takes.
+ * Not part of the regular suite, as its name is not picked by the test
+ * plugins. Run it against the database to measure with:
+ *
+ * <pre>
+ * mvn test -Dtest=KeyWidthBench -Dbench.url=jdbc:postgresql://host/db \
+ *   -Dbench.user=user -Dbench.pwd=pwd [-Dbench.rows=100000]
+ * </pre>
+ *
+ * <p>On Postgres, key size is each primary key index's
+ * {@code pg_relation_size}. Elsewhere, it is the keys' stored bytes.
+ *
+ * @author <a href="mailto:dhsrocha.dev@gmail.com">Diego Rocha</a>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "bench.url", matches = ".+")
+@DisplayName("Identity key width benchmark.")
+class KeyWidthBench {
+
+  private static final String[] TYPES = {"char", "uuid"};
+  private static final int ROUNDS = 5;
+
+  @Test
+  @DisplayName(""
+      + "GIVEN the same identities keyed as CHAR(36) and as UUID "
+      + "WHEN measuring key size and lookups by key "
+      + "THEN report both AND find every identity on both.")
+  final void givenSameIds_whenMeasuring_thenReportKeySizeAndLookups()
+      throws SQLException {
+    // Arrange
+    final var rows = Integer.getInteger("bench.rows", 100_000);
+    final var ids = Stream.generate(Dao.Ids.RANDOM).limit(rows)
+                          .collect(Collectors.toList());
+    try (final var c = DriverManager.getConnection(
+        System.getProperty("bench.url"), System.getProperty("bench.user", ""),
+        System.getProperty("bench.pwd", ""))) {
+      final var pg = c.getMetaData().getDatabaseProductName()
+                      .equalsIgnoreCase("PostgreSQL");
+      for (final var t : TYPES) {
+        load(c, t, ids);
+      }
+      final var shuffled = new ArrayList<>(ids);
+      Collections.shuffle(shuffled);
+      for (final var t : TYPES) {
+        // Act
+        final var size = sizeOf(c, t, pg);
+        lookUp(c, t, shuffled);
+        final var nanos = lookUp(c, t, shuffled);
+        // Assert
+        log.info("{} rows keyed as {}: {} key bytes, {} ns per lookup",
+                 rows, t, size, nanos / ((long) ROUNDS * rows));
+      }
+      try (final var st = c.createStatement()) {
+        for (final var t : TYPES) {
+          st.execute("DROP TABLE bench_" + t);
+        }
+      }
+    }
+  }
+
+  private static void load(final Connection c, final String type,
+                           final List<UUID> ids) throws SQLException {
+    try (final var st = c.createStatement()) {
+      st.execute("DROP TABLE IF EXISTS bench_" + type);
+      st.execute("CREATE TABLE bench_" + type + " (id "
+                     + ("char".equals(type) ? "CHAR(36)" : "UUID")
+                     + " PRIMARY KEY)");
+    }
+    try (final var ps = c.prepareStatement(
+        "INSERT INTO bench_" + type + " (id) VALUES (?)")) {
+      for (var i = 0; i < ids.size(); i++) {
+        bind(ps, type, ids.get(i));
+        ps.addBatch();
+        if (i % 1_000 == 999 || i == ids.size() - 1) {
+          ps.executeBatch();
+        }
+      }
+    }
+  }
+
+  private static long sizeOf(final Connection c, final String type,
+                             final boolean pg) throws SQLException {
+    final var sql = pg
+        ? "SELECT pg_relation_size('bench_" + type + "_pkey')"
+        : "SELECT SUM(OCTET_LENGTH(id)) FROM bench_" + type;
+    try (final var st = c.createStatement();
+         final var rs = st.executeQuery(sql)) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+
+  /**
+   * Looks every identity up by key, reading it back as an identity.
+   *
+   * @param c    Connection to the measured database.
+   * @param type Key type, which names the table.
+   * @param ids  Identities to look up, in the order to look them up.
+   * @return Nanoseconds taken by all rounds.
+   * @throws SQLException if a lookup fails.
+   */
+  private static long lookUp(final Connection c, final String type,
+                             final List<UUID> ids) throws SQLException {
+    try (final var ps = c.prepareStatement(
+        "SELECT id FROM bench_" + type + " WHERE id = ?")) {
+      final var start = System.nanoTime();
+      for (var r = 0; r < ROUNDS; r++) {
+        for (final var id : ids) {
+          bind(ps, type, id);
+          try (final var rs = ps.executeQuery()) {
+            Assertions.assertTrue(rs.next());
+            Assertions.assertEquals(id, "char".equals(type)
+                ? UUID.fromString(rs.getString(1))
+                : rs.getObject(1, UUID.class));
+          }
+        }
+      }
+      return System.nanoTime() - start;
+    }
+  }
+
+  private static void bind(final PreparedStatement ps, final String type,
+                           final UUID id) throws SQLException {
+    if ("char".equals(type)) {
+      ps.setString(1, id.toString());
+    } else {
+      ps.setObject(1, id);
+    }
+  }
+}
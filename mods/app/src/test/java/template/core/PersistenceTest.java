@@ -1,14 +1,80 @@
 package template.core;
 
 import com.zaxxer.hikari.HikariDataSource;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record1;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockDataProvider;
+import org.jooq.tools.jdbc.MockExecuteContext;
+import org.jooq.tools.jdbc.MockResult;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.QueryExecutor;
 import template.Application.Mode;
+import template.base.Body;
+import template.base.Page;
+import template.base.contract.Dao;
+import template.feature.user.User;
+import template.schema.Tables;
+import template.schema.tables.records.UserRecord;
 
 @DisplayName("Persistence module test suite.")
 class PersistenceTest {
 
+  private static final String UUID_RE = "[0-9a-f-]{36}";
+
+  private static final Dao.Mapping<User, UserRecord> MAPPING =
+      new Dao.Mapping<>() {
+
+        @Override
+        public Table<UserRecord> table() {
+          return Tables.USER;
+        }
+
+        @Override
+        public User from(final UserRecord r) {
+          return User.of(r.getUsername(), r.getEmail(), r.getName(),
+                         r.getAge());
+        }
+
+        @Override
+        public UserRecord to(final User u) {
+          return new UserRecord(null, u.getUsername(), u.getEmail(),
+                                u.getName(), u.getAge());
+        }
+
+        @Override
+        public Class<User> ref() {
+          return User.class;
+        }
+      };
+
   @Test
   @DisplayName(""
       + "GIVEN valid components "
@@ -18,8 +84,13 @@ class PersistenceTest {
     // Arrange
     final var modeStub = Mode.TEST;
     final var dsStub = new HikariDataSource();
+    final var ctxStub = Persistence.Mod.ctx(modeStub, dsStub);
+    final var cfgStub = Persistence.Config.builder().driver("driver")
+                                         .url("url").user("user").pwd("pwd")
+                                         .build();
     // Act
-    final var dao = Persistence.Mod.dao(modeStub, dsStub);
+    final var dao = Persistence.Mod.dao(cfgStub, ctxStub, () -> ctxStub,
+                                        List.of(), Dao.Ids.RANDOM);
     // Assert
     Assertions.assertNotNull(dao);
   }
@@ -46,4 +117,298 @@ class PersistenceTest {
     Assertions.assertEquals(user, cfg.getUser());
     Assertions.assertEquals(pwd, cfg.getPwd());
   }
+
+  @Test
+  @DisplayName(""
+      + "GIVEN writes stamped at different times "
+      + "WHEN checking if reads are pinned to the primary "
+      + "THEN should be only within the window after the write.")
+  final void givenWriteStamps_whenCheckingPin_thenShouldBeOnlyWithinWindow() {
+    // Arrange
+    final var window = Duration.ofMinutes(1);
+    final var now = System.currentTimeMillis();
+    // Act / Assert
+    Persistence.Session.stamp(now);
+    Assertions.assertTrue(Persistence.Session.isPinned(window));
+    Persistence.Session.stamp(now - window.toMillis());
+    Assertions.assertFalse(Persistence.Session.isPinned(window));
+    Persistence.Session.clear();
+    Assertions.assertFalse(Persistence.Session.isPinned(window));
+  }
+
+  @Test
+  @DisplayName(""
+      + "GIVEN time-ordered strategy "
+      + "WHEN generating identities "
+      + "THEN should be version 7 and increasing.")
+  final void givenTimeOrdered_whenGeneratingIds_thenShouldBeV7AndIncreasing() {
+    // Arrange
+    final var ids = Dao.Ids.TIME_ORDERED;
+    // Act
+    final var generated = Stream.generate(ids).limit(10_000)
+                                .collect(Collectors.toList());
+    // Assert
+    Assertions.assertTrue(generated.stream().allMatch(u -> 7 == u.version()));
+    Assertions.assertTrue(generated.stream().allMatch(u -> 2 == u.variant()));
+    final var sorted = new ArrayList<>(generated);
+    sorted.sort(Comparator.comparing(UUID::toString));
+    Assertions.assertEquals(generated, sorted);
+  }
+
+  @Test
+  @DisplayName(""
+      + "GIVEN random strategy "
+      + "WHEN generating identities "
+      + "THEN should be version 4 and distinct.")
+  final void givenRandom_whenGeneratingIds_thenShouldBeV4AndDistinct() {
+    // Arrange
+    final var ids = Dao.Ids.RANDOM;
+    // Act
+    final var generated = Stream.generate(ids).limit(10_000)
+                                .collect(Collectors.toList());
+    // Assert
+    Assertions.assertTrue(generated.stream().allMatch(u -> 4 == u.version()));
+    Assertions.assertTrue(generated.stream().allMatch(u -> 2 == u.variant()));
+    Assertions.assertEquals(generated.size(), Set.copyOf(generated).size());
+  }
+
+  /**
+   * Runs database operations on the production dialect and settings against
+   * a mocked connection, which records each statement and answers it with
+   * the results set by each test.
+   */
+  @Nested
+  @DisplayName("Statements rendered for Postgres.")
+  final class Postgres {
+
+    private final List<String> executed = new ArrayList<>();
+    private final DSLContext rows = DSL.using(SQLDialect.POSTGRES);
+
+    @Test
+    @DisplayName(""
+        + "GIVEN a Postgres database "
+        + "WHEN deleting resources by criteria "
+        + "THEN should delete them in a single statement "
+        + "AND return the identities it reports.")
+    final void givenPostgres_whenDeletingByCriteria_thenShouldUseReturning() {
+      // Arrange
+      final var id = UUID.randomUUID();
+      final var dao = daoOf(ctx -> new MockResult[]{
+          new MockResult(1, resultOf(Tables.USER.ID, id))});
+      // Act
+      final var deleted = dao.delete(Body.of("{name: x}", User.class));
+      // Assert
+      Assertions.assertEquals(Set.of(id), deleted);
+      Assertions.assertEquals(List.of(""
+          + "delete from \"user\" where \"user\".\"name\" = ? "
+          + "returning \"user\".\"id\""), executed);
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN a Postgres database "
+        + "WHEN estimating matches with and without criteria "
+        + "THEN should read the planned rows and the table statistics.")
+    final void givenPostgres_whenEstimating_thenShouldReadPlannerStatistics() {
+      // Arrange
+      final var plan = DSL.field("plan", String.class);
+      final var tuples = DSL.field("reltuples", Long.class);
+      final var dao = daoOf(ctx -> new MockResult[]{new MockResult(
+          1, ctx.sql().startsWith("EXPLAIN") ? resultOf(plan, ""
+          + "[{\"Plan\": {\"Node Type\": \"Seq Scan\", "
+          + "\"Plan Rows\": 7}}]") : resultOf(tuples, 42L))});
+      // Act
+      final var filtered = dao.estimate(Body.of("{name: x}", User.class));
+      final var all = dao.estimate(Body.of("{}", User.class));
+      // Assert
+      Assertions.assertEquals(7, filtered);
+      Assertions.assertEquals(42, all);
+      Assertions.assertEquals(List.of(""
+          + "EXPLAIN (FORMAT JSON) select \"user\".\"id\", "
+          + "\"user\".\"username\", \"user\".\"email\", "
+          + "\"user\".\"name\", \"user\".\"age\" from \"user\" "
+          + "where \"user\".\"name\" = ?",
+          "SELECT reltuples::bigint FROM pg_class WHERE oid = ?::regclass"),
+                              executed);
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN a Postgres table not analyzed yet "
+        + "WHEN estimating matches "
+        + "THEN should count them exactly instead.")
+    final void givenNotAnalyzed_whenEstimating_thenShouldCountExactly() {
+      // Arrange
+      final var tuples = DSL.field("reltuples", Long.class);
+      final var count = DSL.field("count", Integer.class);
+      final var dao = daoOf(ctx -> new MockResult[]{new MockResult(
+          1, ctx.sql().startsWith("SELECT reltuples") ? resultOf(tuples, -1L)
+              : resultOf(count, 3))});
+      // Act
+      final var all = dao.estimate(Body.of("{}", User.class));
+      // Assert
+      Assertions.assertEquals(3, all);
+      Assertions.assertEquals(List.of(
+          "SELECT reltuples::bigint FROM pg_class WHERE oid = ?::regclass",
+          "select count(*) from \"user\" where true"), executed);
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN a Postgres database "
+        + "WHEN retrieving a page sorted by text after a cursor "
+        + "THEN should compare text under the binary collation.")
+    final void givenPostgres_whenSortingByText_thenShouldCollateAsBinary() {
+      // Arrange
+      final var id = UUID.randomUUID();
+      final var page = Page.after(List.of("x", id.toString()), 2).withSort(
+          List.of(Page.Sort.of(Body.nameOf(User.class, "name").orElseThrow(),
+                               false)));
+      final var dao = daoOf(ctx -> new MockResult[]{
+          new MockResult(0, rows.newResult(Tables.USER))});
+      // Act
+      final var found = dao.get(Body.of("{}", User.class), page);
+      // Assert
+      final var name = "\"user\".\"name\" COLLATE \"C\"";
+      Assertions.assertTrue(found.isEmpty());
+      Assertions.assertEquals(List.of(""
+          + "select \"user\".\"id\", \"user\".\"username\", "
+          + "\"user\".\"email\", \"user\".\"name\", \"user\".\"age\" "
+          + "from \"user\" where (" + name + " > ? or " + name + " is null "
+          + "or (" + name + " = ? and (\"user\".\"id\" > cast(? as uuid) "
+          + "or \"user\".\"id\" is null))) order by " + name + " asc "
+          + "nulls last, \"user\".\"id\" asc offset ? rows "
+          + "fetch next ? rows only"), executed);
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN a Postgres database "
+        + "WHEN storing resources under given identities "
+        + "THEN should insert them replacing the ones on a key conflict.")
+    final void givenPostgres_whenPutting_thenShouldUpsertOnConflict() {
+      // Arrange
+      final var id = UUID.randomUUID();
+      final var bound = new ArrayList<List<Object>>();
+      final var dao = daoOf(ctx -> {
+        Stream.of(ctx.batchBindings()).map(List::of).forEach(bound::add);
+        return Stream.generate(() -> new MockResult(1))
+                     .limit(ctx.batchBindings().length)
+                     .toArray(MockResult[]::new);
+      });
+      // Act
+      final var stored = dao.put(id, User.of("u", "u@u.com", "n", 1));
+      // Assert
+      Assertions.assertTrue(stored);
+      Assertions.assertEquals(List.of(""
+          + "insert into \"user\" (\"username\", \"email\", \"name\", "
+          + "\"age\", \"id\") values (?, ?, ?, ?, cast(? as uuid)) "
+          + "on conflict (\"id\") do update set \"username\" = ?, "
+          + "\"email\" = ?, \"name\" = ?, \"age\" = ?"), executed);
+      Assertions.assertEquals(List.of(List.of(
+          "u", "u@u.com", "n", 1, id, "u", "u@u.com", "n", 1)), bound);
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN a Postgres database "
+        + "WHEN loading resources "
+        + "THEN should copy them in as quoted CSV lines.")
+    final void givenPostgres_whenLoading_thenShouldCopyAsCsv() {
+      // Arrange
+      final var copied = new ByteArrayOutputStream();
+      final var dao = daoOf(() -> new MockConnection(c -> null) {
+        @Override
+        public <C> C unwrap(final Class<C> type) {
+          return type.cast(copying(copied));
+        }
+      });
+      final var users = Stream.of(User.of("u1", "u1@u.com", "a \"b\", c", 1),
+                                  User.of("u2", "u2@u.com", "d", 2));
+      // Act
+      final var loaded = dao.load(users);
+      // Assert
+      Assertions.assertEquals(2, loaded);
+      Assertions.assertEquals(List.of(""
+          + "COPY \"user\" (\"username\",\"email\",\"name\",\"age\","
+          + "\"id\") FROM STDIN CSV"), executed);
+      Assertions.assertLinesMatch(List.of(
+          "\"u1\",\"u1@u.com\",\"a \"\"b\"\", c\",\"1\",\"" + UUID_RE + "\"",
+          "\"u2\",\"u2@u.com\",\"d\",\"2\",\"" + UUID_RE + "\""),
+                                  copied.toString(StandardCharsets.UTF_8)
+                                        .lines().collect(Collectors.toList()));
+    }
+
+    /**
+     * Provides database operations for users which run on the production
+     * Postgres context over a mocked connection.
+     *
+     * @param results Answers each recorded statement.
+     * @return Database operations for users.
+     */
+    private Dao.Mapper<User, UUID> daoOf(final MockDataProvider results) {
+      return daoOf(() -> new MockConnection(c -> record(c, results)));
+    }
+
+    private Dao.Mapper<User, UUID> daoOf(final Supplier<Connection> c) {
+      final var ctx = Persistence.Mod.ctx(Mode.PRD, dataSourceOf(c));
+      return Dao.Default.of(ctx, ctx, new Dao.Templates(), Dao.Ids.RANDOM,
+                            MAPPING);
+    }
+
+    /**
+     * Stands for the driver's connection on a {@code COPY FROM STDIN}: the
+     * statement is recorded, and the copied data is written to the provided
+     * stream, one line per row.
+     *
+     * @param out Receives the copied data.
+     * @return The driver's connection.
+     */
+    private BaseConnection copying(final ByteArrayOutputStream out) {
+      final var in = proxyOf(CopyIn.class, (p, m, args) -> {
+        if ("writeToCopy".equals(m.getName())) {
+          out.write((byte[]) args[0], (int) args[1], (int) args[2]);
+        }
+        return "endCopy".equals(m.getName())
+            ? out.toString(StandardCharsets.UTF_8).lines().count()
+            : "isActive".equals(m.getName()) ? Boolean.FALSE : null;
+      });
+      final var exec = proxyOf(QueryExecutor.class, (p, m, args) -> {
+        executed.add((String) args[0]);
+        return in;
+      });
+      return proxyOf(BaseConnection.class, (p, m, args) -> {
+        if ("getCopyAPI".equals(m.getName())) {
+          return new CopyManager((BaseConnection) p);
+        }
+        return "getQueryExecutor".equals(m.getName()) ? exec
+            : "getAutoCommit".equals(m.getName()) ? Boolean.FALSE : null;
+      });
+    }
+
+    private <V> Result<Record1<V>> resultOf(final Field<V> f, final V v) {
+      final var r = rows.newResult(f);
+      r.add(rows.newRecord(f).values(v));
+      return r;
+    }
+
+    private MockResult[] record(final MockExecuteContext c,
+                                final MockDataProvider results)
+        throws SQLException {
+      executed.addAll(c.batch() ? List.of(c.batchSQL()) : List.of(c.sql()));
+      return results.execute(c);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <P> P proxyOf(final Class<P> type,
+                               final InvocationHandler h) {
+    return (P) Proxy.newProxyInstance(type.getClassLoader(),
+                                      new Class<?>[]{type}, h);
+  }
+
+  private static DataSource dataSourceOf(final Supplier<Connection> c) {
+    return proxyOf(DataSource.class, (p, m, args) -> "getConnection"
+        .equals(m.getName()) ? c.get() : null);
+  }
 }
@@ -2,14 +2,21 @@ package template.feature.address;
 
 import static template.feature.StubSupport.addressStub;
 
+import com.google.gson.Gson;
 import io.javalin.plugin.openapi.annotations.HttpMethod;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 import lombok.NonNull;
+import lombok.SneakyThrows;
 import lombok.val;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -18,6 +25,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
 import template.Application.Feat;
 import template.Client;
+import template.Support;
 import template.Support.IntegrationTest;
 
 /**
@@ -187,6 +195,83 @@ final class AddressTest {
     }
   }
 
+  @Nested
+  @IntegrationTest(value = Feat.ADDRESS, writeBehind = true)
+  @DisplayName("Write-behind operations.")
+  class WriteBehind {
+
+    private final UUID leftOver = UUID.randomUUID();
+
+    @BeforeEach
+    @SneakyThrows
+    final void leaveJournalOver() {
+      // Arrange: a segment left over by a previous run, its last line torn
+      val line = "{\"id\":\"" + leftOver + "\",\"value\":"
+          + new Gson().toJson(VALID_STUB) + "}";
+      Files.writeString(Support.journal().resolve("address.3.journal"),
+                        line + "\n{\"id\":\"");
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN a journal left over by a previous run "
+        + "WHEN application starts up "
+        + "THEN should have stored its resources.")
+    final void givenLeftOverJournal_whenStartUp_thenShouldHaveStoredIt() {
+      // Act
+      val found = CLIENT.retrieve().thenMap();
+      // Assert
+      Assertions.assertEquals(Set.of(leftOver), found.keySet());
+      Assertions.assertFalse(Files.exists(
+          Support.journal().resolve("address.3.journal")));
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN a resource created behind "
+        + "WHEN perform address retrieve operations "
+        + "THEN should find it right away and list it once drained.")
+    final void givenCreatedBehind_whenRetrieve_thenFindItAndListOnceDrained() {
+      // Arrange
+      val stub = addressStub(2).skip(1).findAny().orElseThrow();
+      val created = CLIENT
+          .request(req -> req.method(HttpMethod.POST).body(stub))
+          .thenTurnInto(UUID.class);
+      // Act
+      val found = CLIENT.request(req -> req.method(HttpMethod.GET).uri(created))
+                        .thenTurnInto(Address.class);
+      // Assert
+      Assertions.assertEquals(stub, found);
+      eventually(() -> CLIENT.retrieve(stub).thenMap().containsKey(created));
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN a resource updated behind "
+        + "WHEN perform address retrieve operations "
+        + "THEN should find it right away and list it once drained.")
+    final void givenUpdatedBehind_whenRetrieve_thenFindItAndListOnceDrained() {
+      // Arrange
+      val toUpdate = VALID_STUB.toBuilder().place("newPlace").build();
+      val isUpdated = CLIENT.request(
+          req -> req.method(HttpMethod.PATCH).uri(leftOver).body(toUpdate))
+                            .get();
+      val notFound = CLIENT.request(req -> req.method(HttpMethod.PATCH)
+                                              .uri(UUID.randomUUID())
+                                              .body(toUpdate)).get();
+      // Act
+      val found = CLIENT
+          .request(req -> req.method(HttpMethod.GET).uri(leftOver))
+          .thenTurnInto(Address.class);
+      // Assert
+      Assertions.assertEquals(204, isUpdated.statusCode());
+      Assertions.assertEquals(404, notFound.statusCode());
+      Assertions.assertEquals(toUpdate, found);
+      eventually(() -> CLIENT.retrieve(toUpdate).thenMap()
+                             .containsKey(leftOver));
+    }
+  }
+
   @Nested
   @IntegrationTest(Feat.ADDRESS)
   @DisplayName("Bad requests.")
@@ -235,4 +320,19 @@ final class AddressTest {
       Assertions.assertEquals(400, resp.statusCode());
     }
   }
+
+  /**
+   * Waits up to a few seconds for the provided condition to hold, failing if
+   * it does not.
+   *
+   * @param condition Condition to wait for.
+   */
+  @SneakyThrows
+  private static void eventually(final @NonNull BooleanSupplier condition) {
+    val until = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!condition.getAsBoolean()) {
+      Assertions.assertTrue(System.nanoTime() < until);
+      Thread.sleep(50);
+    }
+  }
 }
@@ -3,9 +3,16 @@ package template.feature.user;
 import static template.feature.StubSupport.addressStub;
 import static template.feature.StubSupport.userStub;
 
+import com.google.gson.Gson;
 import io.javalin.plugin.openapi.annotations.HttpMethod;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -83,6 +90,171 @@ final class UserAddressTest {
       Assertions.assertFalse(failLink.body().isBlank());
       Assertions.assertEquals(isLinkedStatus, tryFind.statusCode());
     }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN an user resource created "
+        + "WHEN perform link operation to a non-existing address "
+        + "THEN return 404 as status code.")
+    final void givenUser_whenLinkToNonExisting_thenReturn404asStatus() {
+      // Arrange
+      val stub = StubPair.create();
+      val cli = USER.compose(stub.user, Address.class);
+      // Act
+      val resp = cli.request(req -> req.method(HttpMethod.PATCH)
+                                       .uri(UUID.randomUUID())).get();
+      // Assert
+      Assertions.assertEquals(404, resp.statusCode());
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN an user and 5 address resources created "
+        + "WHEN perform bulk link operation along with a non-existing address "
+        + "AND perform it again "
+        + "AND perform bulk unlink operation "
+        + "THEN return only the created addresses as bound "
+        + "AND return none as bound "
+        + "AND return the created addresses as unbound.")
+    final void givenUser5Addresses_whenLinkAll_thenReturnBound_andUnlinkAll() {
+      // Arrange
+      val stub = StubPair.create();
+      val cli = USER.compose(stub.user, Address.class);
+      val created = addressStub(5)
+          .map(a -> ADDRESS.request(req -> req.method(HttpMethod.POST).body(a)))
+          .map(r -> r.thenTurnInto(UUID.class))
+          .collect(Collectors.toList());
+      val body = new ArrayList<>(created);
+      body.add(UUID.randomUUID());
+      // Act
+      val linked = cli.request(req -> req.method(HttpMethod.PATCH).body(body))
+                      .thenTurnInto(UUID[].class);
+      val again = cli.request(req -> req.method(HttpMethod.PATCH).body(body))
+                     .thenTurnInto(UUID[].class);
+      val found = cli.retrieve(Map.of()).thenMap();
+      val unlinked = cli.request(req -> req.method(HttpMethod.DELETE)
+                                           .body(body))
+                        .thenTurnInto(UUID[].class);
+      // Assert
+      Assertions.assertEquals(created, Arrays.asList(linked));
+      Assertions.assertEquals(0, again.length);
+      Assertions.assertEquals(Set.copyOf(created), found.keySet());
+      Assertions.assertEquals(created, Arrays.asList(unlinked));
+      Assertions.assertTrue(cli.retrieve(Map.of()).thenMap().isEmpty());
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN an user and 3 address resources created "
+        + "WHEN perform bulk link operation "
+        + "AND perform link export operation "
+        + "THEN export each link once as a line.")
+    final void givenUser3Addresses_whenLinkAll_andExport_thenExportEachLink() {
+      // Arrange
+      val stub = StubPair.create();
+      val cli = USER.compose(stub.user, Address.class);
+      val created = addressStub(3)
+          .map(a -> ADDRESS.request(req -> req.method(HttpMethod.POST).body(a)))
+          .map(r -> r.thenTurnInto(UUID.class))
+          .collect(Collectors.toList());
+      cli.request(req -> req.method(HttpMethod.PATCH).body(created))
+         .thenTurnInto(UUID[].class);
+      // Act
+      val exported = USER.request(req -> req.method(HttpMethod.GET)
+                                            .uri("address/export")).get();
+      // Assert
+      Assertions.assertEquals(200, exported.statusCode());
+      val linked = exported.body().lines()
+                           .map(l -> new Gson().fromJson(l, Map.class))
+                           .filter(m -> stub.user.toString()
+                                                 .equals(m.get("user")))
+                           .map(m -> UUID.fromString((String) m.get("address")))
+                           .collect(Collectors.toList());
+      Assertions.assertEquals(Set.copyOf(created), Set.copyOf(linked));
+      Assertions.assertEquals(created.size(), linked.size());
+    }
+  }
+
+  @Nested
+  @IntegrationTest({Feat.USER, Feat.ADDRESS})
+  @DisplayName("Look up users bound to an address.")
+  final class Reverse {
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 2 users bound to the same address "
+        + "AND another user bound to none "
+        + "WHEN perform retrieve operation from the address "
+        + "THEN return only the bound users.")
+    final void given2UsersBoundToAddress_whenRetrieveFromAddress_thenReturnBound() {
+      // Arrange
+      val userBody = userStub(3).collect(Collectors.toList());
+      val users = USER.request(req -> req.method(HttpMethod.POST)
+                                         .body(userBody))
+                      .thenTurnInto(UUID[].class);
+      val address = addressStub(1)
+          .map(a -> ADDRESS.request(req -> req.method(HttpMethod.POST).body(a)))
+          .map(r -> r.thenTurnInto(UUID.class)).findAny().orElseThrow();
+      Stream.of(users[0], users[1])
+            .map(u -> USER.compose(u, Address.class)
+                          .request(req -> req.method(HttpMethod.PATCH)
+                                             .uri(address)).get())
+            .forEach(r -> Assertions.assertEquals(204, r.statusCode()));
+      // Act
+      val found = ADDRESS.compose(address, User.class).retrieve().thenMap();
+      // Assert
+      Assertions.assertEquals(Set.of(users[0], users[1]), found.keySet());
+    }
+  }
+
+  @Nested
+  @IntegrationTest({Feat.USER, Feat.ADDRESS})
+  @DisplayName("Embed aggregated resources on retrieving root ones.")
+  final class Include {
+
+    @Test
+    @DisplayName(""
+        + "GIVEN an user bound to 2 addresses and another user with none "
+        + "WHEN perform user retrieve operation including addresses "
+        + "THEN return each user with its bound addresses embedded.")
+    final void givenUsersAndAddresses_whenRetrieveIncluding_thenEmbedBound() {
+      // Arrange
+      val userBody = userStub(2).collect(Collectors.toList());
+      val addressBody = addressStub(2).collect(Collectors.toList());
+      val users = USER.request(req -> req.method(HttpMethod.POST)
+                                         .body(userBody))
+                      .thenTurnInto(UUID[].class);
+      val addresses = ADDRESS.request(req -> req.method(HttpMethod.POST)
+                                                .body(addressBody))
+                             .thenTurnInto(UUID[].class);
+      val bound = USER.compose(users[0], Address.class)
+                      .request(req -> req.method(HttpMethod.PATCH)
+                                         .body(addresses))
+                      .thenTurnInto(UUID[].class);
+      // Act
+      val resp = USER.retrieve(Map.of("include", "address")).get();
+      // Assert
+      Assertions.assertEquals(200, resp.statusCode());
+      final Map<String, Map<String, ?>> found =
+          new Gson().fromJson(resp.body(), Map.class);
+      Assertions.assertEquals(
+          Arrays.stream(bound).map(String::valueOf).collect(Collectors.toSet()),
+          ((Map<?, ?>) found.get(users[0].toString()).get("address")).keySet());
+      Assertions.assertEquals(Map.of(),
+                              found.get(users[1].toString()).get("address"));
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN an unknown aggregate to include "
+        + "WHEN perform user retrieve operation "
+        + "THEN return 400 as status code.")
+    final void givenUnknownInclude_whenRetrieve_thenReturn400asStatus() {
+      // Act
+      val resp = USER.retrieve(Map.of("include", "unknown")).get();
+      // Assert
+      Assertions.assertEquals(400, resp.statusCode());
+    }
   }
 
   @Nested
@@ -162,6 +334,41 @@ final class UserAddressTest {
       Assertions.assertEquals(expected, filtered.size());
     }
 
+    @Test
+    @DisplayName(""
+        + "GIVEN 2 users with 3 linked address resources each "
+        + "AND parameter to limit 2 resources "
+        + "WHEN perform retrieve operation following continuation tokens "
+        + "THEN return only the addresses linked to the requested user.")
+    final void given2UsersWith3Linked_andLimit_whenRetrieveByCursor_thenReturnLinkedOnly() {
+      // Arrange
+      val users = userStub(2)
+          .map(u -> USER.request(req -> req.method(HttpMethod.POST).body(u)))
+          .map(r -> r.thenTurnInto(UUID.class))
+          .toArray(UUID[]::new);
+      val linked = Arrays
+          .stream(users).map(u -> USER.compose(u, Address.class))
+          .map(c -> addressStub(3)
+              .map(a -> c.request(req -> req.method(HttpMethod.POST).body(a)))
+              .map(r -> r.thenTurnInto(UUID.class))
+              .collect(Collectors.toSet()))
+          .collect(Collectors.toList());
+      val cli = USER.compose(users[0], Address.class);
+      val params = new HashMap<>(Map.of("limit", "2"));
+      val found = new ArrayList<UUID>();
+      // Act
+      Optional<String> next = Optional.empty();
+      do {
+        next.ifPresent(c -> params.put("cursor", c));
+        val page = cli.retrieve(params);
+        found.addAll(page.thenMap().keySet());
+        next = page.get().headers().firstValue("X-Next-Cursor");
+      } while (next.isPresent());
+      // Assert
+      Assertions.assertEquals(3, found.size());
+      Assertions.assertEquals(linked.get(0), Set.copyOf(found));
+    }
+
     @Test
     @DisplayName(""
         + "GIVEN 1 user and 4 address resources created "
@@ -210,6 +417,123 @@ final class UserAddressTest {
     }
   }
 
+  @Nested
+  @IntegrationTest(value = {Feat.USER, Feat.ADDRESS}, shards = 2)
+  @DisplayName("Aggregated operations spread over shards.")
+  final class Sharded {
+
+    @Test
+    @DisplayName(""
+        + "GIVEN an user and 16 addresses created over 2 shards "
+        + "WHEN perform link operation to each address "
+        + "THEN bind the ones on the user's shard "
+        + "AND return 404 as status code for the other ones.")
+    final void givenUser16AddressesOver2Shards_whenLinkEach_thenBindOnUserShardOnly() {
+      // Arrange
+      val stub = StubPair.create();
+      val cli = USER.compose(stub.user, Address.class);
+      val addresses = ADDRESS.request(req -> req.method(HttpMethod.POST)
+                                                .body(addressStub(16)
+                                                          .toArray()))
+                             .thenTurnInto(UUID[].class);
+      val same = Arrays.stream(addresses)
+                       .filter(a -> shardOf(a) == shardOf(stub.user))
+                       .collect(Collectors.toSet());
+      // Act
+      val statuses = Arrays.stream(addresses).collect(Collectors.toMap(
+          a -> a, a -> cli.request(req -> req.method(HttpMethod.PATCH).uri(a))
+                          .get().statusCode()));
+      // Assert
+      Assertions.assertFalse(same.isEmpty());
+      Assertions.assertNotEquals(addresses.length, same.size());
+      statuses.forEach((a, st) -> Assertions.assertEquals(
+          same.contains(a) ? 204 : 404, st));
+      Assertions.assertEquals(same, cli.retrieve(Map.of()).thenMap().keySet());
+      val exported = USER.request(req -> req.method(HttpMethod.GET)
+                                            .uri("address/export")).get();
+      Assertions.assertEquals(same.size(), exported.body().lines().count());
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 4 users created over 2 shards "
+        + "WHEN perform create operation of an address on each user "
+        + "THEN store each address on its user's shard "
+        + "AND embed it on retrieving users including addresses.")
+    final void given4UsersOver2Shards_whenCreateOnEach_thenStoreOnUserShard() {
+      // Arrange
+      val users = USER.request(req -> req.method(HttpMethod.POST)
+                                         .body(userStub(4).toArray()))
+                      .thenTurnInto(UUID[].class);
+      // Act
+      val created = Arrays.stream(users).collect(Collectors.toMap(
+          u -> u, u -> USER.compose(u, Address.class)
+                           .request(req -> req.method(HttpMethod.POST)
+                                              .body(addressStub(1)
+                                                        .toArray()[0]))
+                           .thenTurnInto(UUID.class)));
+      val resp = USER.retrieve(Map.of("include", "address")).get();
+      // Assert
+      final Map<String, Map<String, Map<String, ?>>> found =
+          new Gson().fromJson(resp.body(), Map.class);
+      created.forEach((u, a) -> {
+        Assertions.assertEquals(shardOf(u), shardOf(a));
+        Assertions.assertEquals(200, ADDRESS.request(
+            req -> req.method(HttpMethod.GET).uri(a)).get().statusCode());
+        Assertions.assertEquals(Set.of(a.toString()),
+                                found.get(u.toString()).get("address")
+                                     .keySet());
+      });
+    }
+  }
+
+  @Nested
+  @IntegrationTest(value = {Feat.USER, Feat.ADDRESS}, writeBehind = true,
+                   flush = 3_600_000)
+  @DisplayName("Aggregated operations on resources written behind.")
+  final class WriteBehind {
+
+    @Test
+    @DisplayName(""
+        + "GIVEN an user created AND an address created behind "
+        + "WHEN perform link operation right away from each side "
+        + "THEN return 204 as status code "
+        + "AND find the address through the user.")
+    final void givenAddressCreatedBehind_whenLinkRightAway_thenReturn204_andBound() {
+      // Arrange
+      val user = USER.request(req -> req.method(HttpMethod.POST)
+                                        .body(userStub(1).toArray()[0]))
+                     .thenTurnInto(UUID.class);
+      val addresses = addressStub(2)
+          .map(a -> ADDRESS.request(req -> req.method(HttpMethod.POST).body(a)))
+          .map(r -> r.thenTurnInto(UUID.class))
+          .toArray(UUID[]::new);
+      val cli = USER.compose(user, Address.class);
+      // Act
+      val linked = cli.request(req -> req.method(HttpMethod.PATCH)
+                                         .uri(addresses[0])).get();
+      val reverse = ADDRESS.compose(addresses[1], User.class)
+                           .request(req -> req.method(HttpMethod.PATCH)
+                                              .uri(user)).get();
+      // Assert
+      Assertions.assertEquals(204, linked.statusCode());
+      Assertions.assertEquals(204, reverse.statusCode());
+      Assertions.assertEquals(Set.of(addresses),
+                              cli.retrieve(Map.of()).thenMap().keySet());
+    }
+  }
+
+  /**
+   * Tells the shard which owns an identity, out of 2, as the sharded storage
+   * does.
+   *
+   * @param id Identity to route.
+   * @return Owning shard's index.
+   */
+  private static int shardOf(final UUID id) {
+    return Math.floorMod(id.getLeastSignificantBits(), 2);
+  }
+
   /**
    * Supporting class to create data mass required for test methods work in a
    * standard way.
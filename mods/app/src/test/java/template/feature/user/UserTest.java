@@ -2,11 +2,26 @@ package template.feature.user;
 
 import static template.feature.StubSupport.userStub;
 
+import com.google.gson.Gson;
 import io.javalin.plugin.openapi.annotations.HttpMethod;
+import java.net.http.HttpResponse;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.val;
 import org.junit.jupiter.api.Assertions;
@@ -18,6 +33,8 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
 import template.Application.Feat;
 import template.Client;
+import template.base.Exceptions;
+import template.Support.DbExtension;
 import template.Support.IntegrationTest;
 
 /**
@@ -56,6 +73,140 @@ final class UserTest {
           .thenTurnInto(User.class);
       Assertions.assertEquals(valid, found);
     }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN valid resource to persist "
+        + "WHEN perform user create operation "
+        + "THEN stamp the response with the write time, unlike reads.")
+    final void givenValidResource_whenCreating_thenStampWriteTime() {
+      // Act
+      val created = CLIENT
+          .request(req -> req.method(HttpMethod.POST).body(VALID_STUB)).get();
+      val read = CLIENT
+          .request(req -> req.method(HttpMethod.GET).uri(created.body())).get();
+      // Assert
+      Assertions.assertTrue(created.headers().firstValue("X-Written-At")
+                                   .map(Long::parseLong).isPresent());
+      Assertions.assertTrue(read.headers().firstValue("X-Written-At")
+                                .isEmpty());
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 20 resources to persist at once, one of them repeated "
+        + "WHEN perform user create operations concurrently "
+        + "THEN create each one apart from the repeated one.")
+    final void given20ConcurrentCreations_whenOneRepeated_thenRejectOnlyIt()
+        throws InterruptedException {
+      // Arrange
+      val users = userStub(19).collect(Collectors.toList());
+      users.add(users.get(0));
+      val pool = Executors.newFixedThreadPool(users.size());
+      // Act
+      val statuses = pool.invokeAll(users.stream().map(u -> (Callable<Integer>)
+          () -> CLIENT.request(req -> req.method(HttpMethod.POST).body(u))
+                      .get().statusCode()).collect(Collectors.toList()));
+      pool.shutdown();
+      // Assert
+      val counted = statuses.stream().map(f -> Exceptions.ILLEGAL_ARGUMENT
+          .trapIn(() -> f.get())).collect(Collectors.groupingBy(
+          Function.identity(), Collectors.counting()));
+      Assertions.assertEquals(Map.of(201, 19L, 422, 1L), counted);
+      Assertions.assertEquals(19, CLIENT.retrieve(Map.of("limit", "30"))
+                                        .thenMap().size());
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN NDJSON lines with valid, invalid, malformed and null resources "
+        + "WHEN perform user import operation "
+        + "THEN store the valid ones AND report the rejected lines.")
+    final void givenNdjson_whenImporting_thenStoreValid_andReportRejected() {
+      // Arrange
+      val mapper = new Gson();
+      val lines = userStub(3).map(mapper::toJson).collect(Collectors.toList());
+      lines.add(1, mapper.toJson(INVALID_STUB));
+      lines.add(3, "{xp");
+      lines.add("null");
+      // Act
+      val report = CLIENT.request(req -> req.method(HttpMethod.POST)
+                                            .uri("import")
+                                            .raw(String.join("\n", lines)))
+                         .thenTurnInto(Map.class);
+      // Assert
+      Assertions.assertEquals(3.0, report.get("imported"));
+      Assertions.assertEquals(Set.of("2", "4", "6"),
+                              ((Map<?, ?>) report.get("rejected")).keySet());
+      Assertions.assertEquals(3, CLIENT.retrieve(Map.of()).thenMap().size());
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 15 valid resources in an array "
+        + "WHEN perform user create operation "
+        + "THEN should be able to find each resource by returned identities.")
+    final void given15ValidResources_whenCreatingInBulk_thenShouldAbleToFindEach() {
+      // Arrange
+      val valid = userStub(15).collect(Collectors.toList());
+      // Act
+      val ids = CLIENT.request(req -> req.method(HttpMethod.POST).body(valid))
+                      .thenTurnInto(UUID[].class);
+      // Assert
+      Assertions.assertEquals(valid.size(), ids.length);
+      for (var i = 0; i < ids.length; i++) {
+        val id = ids[i];
+        val found = CLIENT.request(req -> req.method(HttpMethod.GET).uri(id))
+                          .thenTurnInto(User.class);
+        Assertions.assertEquals(valid.get(i), found);
+      }
+    }
+  }
+
+  @Nested
+  @IntegrationTest(value = Feat.USER, group = 1_000)
+  @DisplayName("Single creations committed together.")
+  class Grouped {
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 10 resources to create within the same group, one repeated "
+        + "WHEN perform user create operations concurrently "
+        + "THEN reject only the repeated one "
+        + "AND return every other caller its own resource's identity.")
+    final void given10GroupedCreations_whenOneRepeated_thenOthersGetTheirIds()
+        throws Exception {
+      // Arrange
+      val users = userStub(9).collect(Collectors.toList());
+      users.add(users.get(4));
+      val pool = Executors.newFixedThreadPool(users.size());
+      // Act
+      val resps = pool.invokeAll(users.stream().map(u ->
+          (Callable<HttpResponse<String>>) () -> CLIENT.request(req -> req.method(HttpMethod.POST).body(u))
+                      .get()).collect(Collectors.toList()));
+      pool.shutdown();
+      // Assert
+      val created = new HashMap<UUID, User>();
+      var rejected = 0;
+      for (var i = 0; i < users.size(); i++) {
+        val resp = resps.get(i).get();
+        if (422 == resp.statusCode()) {
+          rejected++;
+          continue;
+        }
+        Assertions.assertEquals(201, resp.statusCode());
+        created.put(new Gson().fromJson(resp.body(), UUID.class),
+                    users.get(i));
+      }
+      Assertions.assertEquals(1, rejected);
+      Assertions.assertEquals(9, created.size());
+      for (val e : created.entrySet()) {
+        val found = CLIENT.request(req -> req.method(HttpMethod.GET)
+                                             .uri(e.getKey()))
+                          .thenTurnInto(User.class);
+        Assertions.assertEquals(e.getValue(), found);
+      }
+    }
   }
 
   @Nested
@@ -84,6 +235,76 @@ final class UserTest {
       Assertions.assertEquals(1, filtered.size());
     }
 
+    @Test
+    @DisplayName(""
+        + "GIVEN 15 user resources created "
+        + "WHEN perform user export operation "
+        + "THEN return each resource once as a NDJSON line.")
+    final void given15Created_whenExporting_thenReturnEachAsNdjsonLine() {
+      // Arrange
+      val valid = userStub(15).collect(Collectors.toList());
+      val ids = CLIENT.request(req -> req.method(HttpMethod.POST).body(valid))
+                      .thenTurnInto(UUID[].class);
+      // Act
+      val resp = CLIENT.request(req -> req.method(HttpMethod.GET)
+                                          .uri("export")).get();
+      // Assert
+      Assertions.assertEquals(200, resp.statusCode());
+      val mapper = new Gson();
+      val lines = resp.body().lines().map(l -> mapper.fromJson(l, Map.class))
+                      .collect(Collectors.toList());
+      Assertions.assertEquals(ids.length, lines.size());
+      Assertions.assertEquals(
+          Arrays.stream(ids).map(String::valueOf).collect(Collectors.toSet()),
+          lines.stream().flatMap(m -> m.keySet().stream())
+               .collect(Collectors.toSet()));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "age=3..7; 5", "age=..2; 2", "age=14..; 2", "age=2%7C4%7C20; 2",
+        "name=1*; 7", "age=..12,name=1*; 4"})
+    @DisplayName(""
+        + "GIVEN 15 user resources created "
+        + "AND a filter query with range, any of and prefix operators "
+        + "WHEN perform user retrieve operation "
+        + "THEN return only matching resources.")
+    final void given15Created_andFilterOperators_whenRetrieve_thenReturnMatching(
+        final String fq, final int expected) {
+      // Arrange
+      val valid = userStub(15).collect(Collectors.toList());
+      CLIENT.request(req -> req.method(HttpMethod.POST).body(valid)).get();
+      // Act
+      val found = CLIENT.retrieve(Map.of("fq", fq)).thenMap();
+      // Assert
+      Assertions.assertEquals(expected, found.size());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "name=a%5C..b; 1", "name=x%5C%7Cy; 1", "name=z%5C*; 1", "name=z*; 2",
+        "name=a%5C.*; 1", "name=c%5C,d; 1", "name=c%5C,d,age=5; 1",
+        "name=c%5C,d%7Czz; 2", "name=c%5C,d,age=4; 0"})
+    @DisplayName(""
+        + "GIVEN user resources named after the filter operators "
+        + "AND a filter query with those operators escaped "
+        + "WHEN perform user retrieve operation "
+        + "THEN match the escaped characters literally.")
+    final void givenNamesLikeOperators_andEscapedFilter_whenRetrieve_thenMatchLiterally(
+        final String fq, final int expected) {
+      // Arrange
+      val named = List.of(User.of("a..b", "1@1.com", "a..b", 1),
+                          User.of("x|y", "2@2.com", "x|y", 2),
+                          User.of("z*", "3@3.com", "z*", 3),
+                          User.of("zz", "4@4.com", "zz", 4),
+                          User.of("c,d", "5@5.com", "c,d", 5));
+      CLIENT.request(req -> req.method(HttpMethod.POST).body(named)).get();
+      // Act
+      val found = CLIENT.retrieve(Map.of("fq", fq)).thenMap();
+      // Assert
+      Assertions.assertEquals(expected, found.size());
+    }
+
     @ParameterizedTest
     @CsvSource({"limit, 5, 5", "skip, 5, 10"})
     @DisplayName(""
@@ -104,6 +325,139 @@ final class UserTest {
       Assertions.assertEquals(expected, found.size());
     }
 
+    @Test
+    @DisplayName(""
+        + "GIVEN 15 user resources created "
+        + "AND parameter to limit 4 resources "
+        + "WHEN perform user retrieve operation following continuation tokens "
+        + "THEN return every resource exactly once.")
+    final void given15Created_andLimit_whenRetrieveByCursor_thenReturnAllOnce() {
+      // Arrange
+      val ids = userStub(15)
+          .map(u -> CLIENT.request(req -> req.method(HttpMethod.POST).body(u)))
+          .map(req -> req.thenTurnInto(UUID.class))
+          .collect(Collectors.toSet());
+      val params = new HashMap<>(Map.of("limit", "4"));
+      val found = new ArrayList<UUID>();
+      // Act
+      Optional<String> next = Optional.empty();
+      do {
+        next.ifPresent(c -> params.put("cursor", c));
+        val page = CLIENT.retrieve(params);
+        found.addAll(page.thenMap().keySet());
+        next = page.get().headers().firstValue("X-Next-Cursor");
+      } while (next.isPresent());
+      // Assert
+      Assertions.assertEquals(ids.size(), found.size());
+      Assertions.assertEquals(ids, Set.copyOf(found));
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 15 user resources created "
+        + "AND limit and descending sort "
+        + "WHEN perform user retrieve operation by continuation token "
+        + "THEN return all resources once in descending order.")
+    final void given15Created_andSort_whenRetrieveByCursor_thenReturnSorted() {
+      // Arrange
+      val ages = userStub(15).collect(Collectors.toMap(
+          u -> CLIENT.request(req -> req.method(HttpMethod.POST).body(u))
+                     .thenTurnInto(UUID.class), User::getAge));
+      val params = new HashMap<>(Map.of("limit", "4", "sort", "-age"));
+      val found = new ArrayList<UUID>();
+      // Act
+      Optional<String> next = Optional.empty();
+      do {
+        next.ifPresent(c -> params.put("cursor", c));
+        val page = CLIENT.retrieve(params);
+        found.addAll(page.thenMap().keySet());
+        next = page.get().headers().firstValue("X-Next-Cursor");
+      } while (next.isPresent());
+      // Assert
+      Assertions.assertEquals(ages.keySet(), Set.copyOf(found));
+      val ordered = found.stream().map(ages::get).collect(Collectors.toList());
+      val sorted = new ArrayList<>(ordered);
+      sorted.sort(Comparator.reverseOrder());
+      Assertions.assertEquals(sorted, ordered);
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 15 user resources created, sharing 3 different ages "
+        + "AND limit and sort by descending age and ascending name "
+        + "WHEN perform user retrieve operation by continuation token "
+        + "THEN return all resources once in both attributes' order.")
+    final void given15Created_andMixedSort_whenRetrieveByCursor_thenReturnSorted() {
+      // Arrange
+      val users = new HashMap<UUID, User>();
+      for (var i = 1; i <= 15; i++) {
+        val u = User.of("u" + i, i + "@" + i + ".com",
+                        String.format("%02d", i), i % 3 + 1);
+        users.put(CLIENT.request(req -> req.method(HttpMethod.POST).body(u))
+                        .thenTurnInto(UUID.class), u);
+      }
+      val params = new HashMap<>(Map.of("limit", "4", "sort", "-age,name"));
+      val found = new ArrayList<UUID>();
+      // Act
+      Optional<String> next = Optional.empty();
+      do {
+        next.ifPresent(c -> params.put("cursor", c));
+        val page = CLIENT.retrieve(params);
+        found.addAll(page.thenMap().keySet());
+        next = page.get().headers().firstValue("X-Next-Cursor");
+      } while (next.isPresent());
+      // Assert
+      val expected = users.keySet().stream().sorted(Comparator
+          .comparing((UUID id) -> users.get(id).getAge()).reversed()
+          .thenComparing(id -> users.get(id).getName()))
+                          .collect(Collectors.toList());
+      Assertions.assertEquals(expected, found);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"age, false", "-age, true"})
+    @DisplayName(""
+        + "GIVEN 15 user resources created, 5 of them without age "
+        + "AND limit and sort by age "
+        + "WHEN perform user retrieve operation by continuation token "
+        + "THEN return all resources once, absent ages as the greatest.")
+    final void given15CreatedSomeNull_andSort_whenRetrieveByCursor_thenReturnAllOnce(
+        final String sort, final boolean descending) throws SQLException {
+      // Arrange
+      val ids = userStub(15)
+          .map(u -> CLIENT.request(req -> req.method(HttpMethod.POST).body(u)))
+          .map(req -> req.thenTurnInto(UUID.class))
+          .collect(Collectors.toList());
+      val absent = Set.copyOf(ids.subList(5, 10));
+      try (val c = DriverManager.getConnection(DbExtension.urlOf(0),
+                                               DbExtension.DB_USER,
+                                               DbExtension.DB_PWD);
+           val st = c.prepareStatement(
+               "UPDATE \"USER\" SET age = NULL WHERE id = ?")) {
+        for (val id : absent) {
+          st.setObject(1, id);
+          st.executeUpdate();
+        }
+      }
+      val params = new HashMap<>(Map.of("limit", "4", "sort", sort,
+                                        "fields", "age"));
+      val found = new ArrayList<UUID>();
+      // Act
+      Optional<String> next = Optional.empty();
+      do {
+        next.ifPresent(c -> params.put("cursor", c));
+        val page = CLIENT.retrieve(params).get();
+        new Gson().fromJson(page.body(), Map.class).keySet()
+                  .forEach(k -> found.add(UUID.fromString((String) k)));
+        next = page.headers().firstValue("X-Next-Cursor");
+      } while (next.isPresent());
+      // Assert
+      Assertions.assertEquals(ids.size(), found.size());
+      Assertions.assertEquals(Set.copyOf(ids), Set.copyOf(found));
+      val nulls = descending ? found.subList(0, 5) : found.subList(10, 15);
+      Assertions.assertEquals(absent, Set.copyOf(nulls));
+    }
+
     @Test
     @DisplayName(""
         + "GIVEN three created resources "
@@ -121,6 +475,222 @@ final class UserTest {
       val arr = found.keySet().stream().sorted().toArray(UUID[]::new);
       Assertions.assertArrayEquals(ids, arr);
     }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 5 created resources "
+        + "WHEN perform user retrieve operation by some identities "
+        + "THEN return the found ones in the requested order.")
+    final void given5Created_whenRetrieveByIds_thenReturnFoundInOrder() {
+      // Arrange
+      val ids = CLIENT.request(req -> req.method(HttpMethod.POST)
+                                         .body(userStub(5).toArray()))
+                      .thenTurnInto(UUID[].class);
+      // Warms the cache up for some of them
+      CLIENT.request(req -> req.method(HttpMethod.GET).uri(ids[3])).get();
+      val requested = List.of(ids[3], UUID.randomUUID(), ids[0], ids[4]);
+      val param = requested.stream().map(UUID::toString)
+                           .collect(Collectors.joining(","));
+      // Act
+      val found = CLIENT.retrieve(Map.of("ids", param)).thenMap();
+      // Assert
+      Assertions.assertEquals(List.of(ids[3], ids[0], ids[4]),
+                              List.copyOf(found.keySet()));
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 3 created resources "
+        + "AND some fields requested "
+        + "WHEN perform user retrieve operations "
+        + "THEN return only the requested fields.")
+    final void given3Created_andFields_whenRetrieve_thenReturnRequestedOnly() {
+      // Arrange
+      val ids = CLIENT.request(req -> req.method(HttpMethod.POST)
+                                         .body(userStub(3).toArray()))
+                      .thenTurnInto(UUID[].class);
+      val fields = Map.of("fields", "name,age");
+      // Act
+      val all = new Gson().fromJson(CLIENT.retrieve(fields).get().body(),
+                                    Map.class);
+      val one = CLIENT.request(req -> req.method(HttpMethod.GET).uri(ids[1])
+                                         .params(fields))
+                      .thenTurnInto(Map.class);
+      // Assert
+      Assertions.assertEquals(3, all.size());
+      all.values().forEach(u -> Assertions
+          .assertEquals(Set.of("name", "age"), ((Map<?, ?>) u).keySet()));
+      Assertions.assertEquals(Map.of("name", "2", "age", 2D), one);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"exact, X-Total-Count", "estimated, X-Estimated-Count"})
+    @DisplayName(""
+        + "GIVEN 15 created resources "
+        + "AND a count mode requested along with a filter query "
+        + "WHEN perform user retrieve operation "
+        + "THEN expose how many resources match apart from the page.")
+    final void given15Created_andCount_whenRetrieve_thenExposeMatchingCount(
+        final String mode, final String header) {
+      // Arrange
+      val valid = userStub(15).collect(Collectors.toList());
+      CLIENT.request(req -> req.method(HttpMethod.POST).body(valid)).get();
+      val params = Map.of("fq", "name=1*", "limit", "2", "count", mode);
+      // Act
+      val resp = CLIENT.retrieve(params).get();
+      // Assert
+      Assertions.assertEquals(Optional.of("7"),
+                              resp.headers().firstValue(header));
+      Assertions.assertEquals(2, new Gson().fromJson(resp.body(), Map.class)
+                                           .size());
+    }
+  }
+
+  @Nested
+  @IntegrationTest(value = Feat.USER, shards = 2)
+  @DisplayName("Operations spread over shards.")
+  class Sharded {
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 15 resources created in bulk over 2 shards "
+        + "AND a sorted page which skips some resources "
+        + "WHEN perform user retrieve operations "
+        + "THEN gather the page in order and find each resource by identity.")
+    final void given15CreatedOver2Shards_whenRetrieve_thenGatherPageInOrder()
+        throws SQLException {
+      // Arrange
+      val ids = CLIENT.request(req -> req.method(HttpMethod.POST)
+                                         .body(userStub(15).toArray()))
+                      .thenTurnInto(UUID[].class);
+      val params = Map.of("sort", "-age", "skip", "3", "limit", "5",
+                          "count", "exact");
+      // Act
+      val page = CLIENT.retrieve(params);
+      val found = page.thenMap();
+      val each = Arrays.stream(ids).map(id -> CLIENT
+          .request(req -> req.method(HttpMethod.GET).uri(id))
+          .thenTurnInto(User.class)).collect(Collectors.toList());
+      // Assert
+      Assertions.assertEquals(List.of(ids[11], ids[10], ids[9], ids[8], ids[7]),
+                              List.copyOf(found.keySet()));
+      Assertions.assertEquals(Optional.of("15"),
+                              page.get().headers().firstValue("X-Total-Count"));
+      Assertions.assertEquals(userStub(15).collect(Collectors.toList()), each);
+      for (var i = 0; i < 2; i++) {
+        try (val c = DriverManager.getConnection(DbExtension.urlOf(i),
+                                                 DbExtension.DB_USER,
+                                                 DbExtension.DB_PWD);
+             val rs = c.createStatement()
+                       .executeQuery("SELECT COUNT(*) FROM \"USER\"")) {
+          rs.next();
+          Assertions.assertTrue(rs.getInt(1) > 0);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 15 resources created in bulk over 2 shards "
+        + "AND limit and sort "
+        + "WHEN perform user retrieve operation following continuation tokens "
+        + "THEN return every resource exactly once, in order.")
+    final void given15CreatedOver2Shards_whenRetrieveByCursor_thenReturnSorted() {
+      // Arrange
+      val ids = CLIENT.request(req -> req.method(HttpMethod.POST)
+                                         .body(userStub(15).toArray()))
+                      .thenTurnInto(UUID[].class);
+      val params = new HashMap<>(Map.of("limit", "4", "sort", "age"));
+      val found = new ArrayList<UUID>();
+      // Act
+      Optional<String> next = Optional.empty();
+      do {
+        next.ifPresent(c -> params.put("cursor", c));
+        val page = CLIENT.retrieve(params);
+        found.addAll(page.thenMap().keySet());
+        next = page.get().headers().firstValue("X-Next-Cursor");
+      } while (next.isPresent());
+      // Assert
+      Assertions.assertEquals(List.of(ids), found);
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 15 resources created in bulk over 2 shards "
+        + "WHEN perform user update operation on all of them "
+        + "AND perform user delete operations by identities and by criteria "
+        + "THEN apply each one on the shard which owns every resource.")
+    final void given15CreatedOver2Shards_whenUpdateAndDeleteInBulk_thenApplyOnEach() {
+      // Arrange
+      val ids = CLIENT.request(req -> req.method(HttpMethod.POST)
+                                         .body(userStub(15).toArray()))
+                      .thenTurnInto(UUID[].class);
+      val toUpdate = new HashMap<UUID, User>();
+      for (var i = 0; i < ids.length; i++) {
+        toUpdate.put(ids[i], User.of("updated" + i, i + "@updated.com",
+                                     "updated", i % 3 + 1));
+      }
+      val toDelete = Set.of(ids[0], ids[7], ids[14], UUID.randomUUID());
+      // Act
+      val updated = CLIENT
+          .request(req -> req.method(HttpMethod.PATCH).body(toUpdate))
+          .thenTurnInto(UUID[].class);
+      val byIds = CLIENT
+          .request(req -> req.method(HttpMethod.DELETE).body(toDelete))
+          .thenTurnInto(UUID[].class);
+      val byCriteria = CLIENT.request(req -> req.method(HttpMethod.DELETE)
+                                                .params(Map.of("fq", "age=1")))
+                             .thenTurnInto(UUID[].class);
+      // Assert
+      Assertions.assertEquals(toUpdate.keySet(), Set.of(updated));
+      Assertions.assertEquals(Set.of(ids[0], ids[7], ids[14]), Set.of(byIds));
+      Assertions.assertEquals(Set.of(ids[3], ids[6], ids[9], ids[12]),
+                              Set.of(byCriteria));
+      val left = CLIENT.retrieve(Map.of()).thenMap().keySet();
+      Assertions.assertEquals(8, left.size());
+      for (val id : left) {
+        val found = CLIENT.request(req -> req.method(HttpMethod.GET).uri(id))
+                          .thenTurnInto(User.class);
+        Assertions.assertEquals(toUpdate.get(id), found);
+      }
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 15 NDJSON lines imported over 2 shards "
+        + "WHEN perform user retrieve operation with estimated count "
+        + "AND perform user export operation "
+        + "THEN estimate every shard's share "
+        + "AND export every resource once.")
+    final void given15ImportedOver2Shards_whenEstimateAndExport_thenCoverAllShards()
+        throws SQLException {
+      // Arrange
+      val mapper = new Gson();
+      val lines = userStub(15).map(mapper::toJson)
+                              .collect(Collectors.joining("\n"));
+      val report = CLIENT.request(req -> req.method(HttpMethod.POST)
+                                            .uri("import").raw(lines))
+                         .thenTurnInto(Map.class);
+      // Act
+      val estimated = CLIENT.retrieve(Map.of("count", "estimated")).get();
+      val exported = CLIENT.request(req -> req.method(HttpMethod.GET)
+                                              .uri("export")).get();
+      // Assert
+      Assertions.assertEquals(15.0, report.get("imported"));
+      Assertions.assertEquals(Optional.of("15"), estimated
+          .headers().firstValue("X-Estimated-Count"));
+      Assertions.assertEquals(15, exported.body().lines().count());
+      for (var i = 0; i < 2; i++) {
+        try (val c = DriverManager.getConnection(DbExtension.urlOf(i),
+                                                 DbExtension.DB_USER,
+                                                 DbExtension.DB_PWD);
+             val rs = c.createStatement()
+                       .executeQuery("SELECT COUNT(*) FROM \"USER\"")) {
+          rs.next();
+          Assertions.assertTrue(rs.getInt(1) > 0);
+        }
+      }
+    }
   }
 
   @Nested
@@ -149,6 +719,61 @@ final class UserTest {
                         .thenTurnInto(User.class);
       Assertions.assertEquals(toUpdate, found);
     }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 3 created resources "
+        + "WHEN perform user update operation on all of them "
+        + "THEN return their identities AND find them updated.")
+    final void given3Created_whenUpdateInBulk_thenReturnIds_andFindUpdated() {
+      // Arrange
+      val ids = CLIENT.request(req -> req.method(HttpMethod.POST)
+                                         .body(userStub(3).toArray()))
+                      .thenTurnInto(UUID[].class);
+      val toUpdate = new HashMap<UUID, User>();
+      for (var i = 0; i < ids.length; i++) {
+        toUpdate.put(ids[i], User.of("updated" + i, "updated@updated.com",
+                                     "updated", 5));
+      }
+      // Act
+      val updated = CLIENT
+          .request(req -> req.method(HttpMethod.PATCH).body(toUpdate))
+          .thenTurnInto(UUID[].class);
+      // Assert
+      Assertions.assertEquals(toUpdate.keySet(), Set.of(updated));
+      for (val e : toUpdate.entrySet()) {
+        val found = CLIENT
+            .request(req -> req.method(HttpMethod.GET).uri(e.getKey()))
+            .thenTurnInto(User.class);
+        Assertions.assertEquals(e.getValue(), found);
+      }
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN an identity which is not stored "
+        + "WHEN perform user put operation twice "
+        + "THEN create the resource AND replace it afterwards.")
+    final void givenMissingId_whenPutTwice_thenCreate_andReplaceAfterwards() {
+      // Arrange
+      val id = UUID.randomUUID();
+      val toReplace = User.of("updated", "updated@updated.com", "updated", 5);
+      // Act
+      val created = CLIENT.request(
+          req -> req.method(HttpMethod.PUT).uri(id).body(VALID_STUB)).get();
+      val first = CLIENT.request(req -> req.method(HttpMethod.GET).uri(id))
+                        .thenTurnInto(User.class);
+      val replaced = CLIENT.request(
+          req -> req.method(HttpMethod.PUT).uri(id).body(toReplace)).get();
+      // Assert
+      Assertions.assertEquals(204, created.statusCode());
+      Assertions.assertEquals(VALID_STUB, first);
+      Assertions.assertEquals(204, replaced.statusCode());
+      val found = CLIENT.request(req -> req.method(HttpMethod.GET).uri(id))
+                        .thenTurnInto(User.class);
+      Assertions.assertEquals(toReplace, found);
+      Assertions.assertEquals(Set.of(id), CLIENT.retrieve().thenMap().keySet());
+    }
   }
 
   @Nested
@@ -175,6 +800,46 @@ final class UserTest {
           .request(req -> req.method(HttpMethod.GET).uri(created)).get();
       Assertions.assertEquals(404, notFound.statusCode());
     }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 5 created resources "
+        + "WHEN perform user delete operation by identities "
+        + "THEN return the deleted ones AND keep the remaining.")
+    final void given5Created_whenDeleteByIds_thenReturnDeleted_andKeepRemaining() {
+      // Arrange
+      val ids = CLIENT.request(req -> req.method(HttpMethod.POST)
+                                         .body(userStub(5).toArray()))
+                      .thenTurnInto(UUID[].class);
+      val toDelete = Set.of(ids[0], ids[2], UUID.randomUUID());
+      // Act
+      val deleted = CLIENT
+          .request(req -> req.method(HttpMethod.DELETE).body(toDelete))
+          .thenTurnInto(UUID[].class);
+      // Assert
+      Assertions.assertEquals(Set.of(ids[0], ids[2]), Set.of(deleted));
+      Assertions.assertEquals(Set.of(ids[1], ids[3], ids[4]),
+                              CLIENT.retrieve(Map.of()).thenMap().keySet());
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN 5 created resources "
+        + "WHEN perform user delete operation by filter query "
+        + "THEN delete only the matching ones.")
+    final void given5Created_whenDeleteByCriteria_thenDeleteMatchingOnly() {
+      // Arrange
+      val ids = CLIENT.request(req -> req.method(HttpMethod.POST)
+                                         .body(userStub(5).toArray()))
+                      .thenTurnInto(UUID[].class);
+      // Act
+      val deleted = CLIENT.request(req -> req.method(HttpMethod.DELETE)
+                                             .params(Map.of("fq", "age=3")))
+                          .thenTurnInto(UUID[].class);
+      // Assert
+      Assertions.assertArrayEquals(new UUID[]{ids[2]}, deleted);
+      Assertions.assertEquals(4, CLIENT.retrieve(Map.of()).thenMap().size());
+    }
   }
 
   @Nested
@@ -195,6 +860,37 @@ final class UserTest {
       Assertions.assertEquals(422, resp.statusCode());
     }
 
+    @ParameterizedTest
+    @CsvSource({
+        "cursor=xp, 400", "cursor=WyJ4cCJd&skip=1, 400", "sort=xp, 400"})
+    @DisplayName(""
+        + "GIVEN invalid continuation token or sorting attribute "
+        + "WHEN perform user retrieve operation "
+        + "THEN return 400 as HTTP status code.")
+    final void givenInvalidCursor_whenRetrieve_thenReturn400asStatus(
+        final String query, final int expected) {
+      // Arrange
+      val params = Arrays.stream(query.split("&")).map(s -> s.split("="))
+                         .collect(Collectors.toMap(s -> s[0], s -> s[1]));
+      // Act
+      val resp = CLIENT.retrieve(params).get();
+      // Assert
+      Assertions.assertEquals(expected, resp.statusCode());
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN invalid identity "
+        + "WHEN perform user put operation "
+        + "THEN return 400 as HTTP status code.")
+    final void givenInvalidId_whenPut_thenReturn400asStatus() {
+      // Act
+      val resp = CLIENT.request(
+          req -> req.method(HttpMethod.PUT).uri("xp").body(VALID_STUB)).get();
+      // Assert
+      Assertions.assertEquals(400, resp.statusCode());
+    }
+
     @Test
     @DisplayName(""
         + "GIVEN invalid filter query "
@@ -209,6 +905,51 @@ final class UserTest {
       Assertions.assertEquals(400, resp.statusCode());
     }
 
+    @Test
+    @DisplayName(""
+        + "GIVEN unknown field requested "
+        + "WHEN perform user retrieve operation "
+        + "THEN return 400 as HTTP status code.")
+    final void givenUnknownField_whenRetrieve_thenReturn400asStatus() {
+      // Arrange
+      val params = Map.of("fields", "name,xp");
+      // Act
+      val resp = CLIENT.retrieve(params).get();
+      // Assert
+      Assertions.assertEquals(400, resp.statusCode());
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN unknown count mode requested "
+        + "WHEN perform user retrieve operation "
+        + "THEN return 400 as HTTP status code.")
+    final void givenUnknownCountMode_whenRetrieve_thenReturn400asStatus() {
+      // Arrange
+      val params = Map.of("count", "xp");
+      // Act
+      val resp = CLIENT.retrieve(params).get();
+      // Assert
+      Assertions.assertEquals(400, resp.statusCode());
+    }
+
+    @Test
+    @DisplayName(""
+        + "GIVEN an array with an invalid resource among valid ones "
+        + "WHEN perform user create operation "
+        + "THEN return 422 as HTTP status code AND create none of them.")
+    final void givenArrayWithInvalid_whenCreatingInBulk_thenReturn422_andCreateNone() {
+      // Arrange
+      val body = userStub(3).collect(Collectors.<Object>toList());
+      body.add(INVALID_STUB);
+      // Act
+      val resp = CLIENT
+          .request(req -> req.method(HttpMethod.POST).body(body)).get();
+      // Assert
+      Assertions.assertEquals(422, resp.statusCode());
+      Assertions.assertTrue(CLIENT.retrieve(Map.of()).thenMap().isEmpty());
+    }
+
     @ParameterizedTest
     @EnumSource(value = HttpMethod.class, names = {"POST", "PATCH"})
     @DisplayName(""